@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Runs the same k6 load against the application in both execution modes and prints the throughput.
+# Start the application yourself before each run, for example:
+#   java -jar target/backend-java-springboot-1.0.0.jar --spring.profiles.active=prod                  (platform)
+#   java -jar target/backend-java-springboot-1.0.0.jar --spring.profiles.active=prod,virtual-threads  (virtual)
+# then run: ./compare.sh platform   and, after restarting in the other mode,   ./compare.sh virtual
+set -euo pipefail
+
+LABEL=${1:?usage: compare.sh <label>}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+DIR=$(cd "$(dirname "$0")" && pwd)
+mkdir -p "$DIR/results"
+
+k6 run -e BASE_URL="$BASE_URL" --summary-export "$DIR/results/$LABEL.json" "$DIR/customers-orders.js"
+
+echo
+echo "label        req/s     p95(ms)   failed"
+for f in "$DIR"/results/*.json; do
+  jq -r --arg label "$(basename "$f" .json)" \
+    '[$label, (.metrics.http_reqs.rate|floor), (.metrics.http_req_duration["p(95)"]|floor), (.metrics.http_req_failed.value*100|tostring + "%")] | @tsv' "$f"
+done | column -t
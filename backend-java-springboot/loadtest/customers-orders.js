@@ -0,0 +1,80 @@
+// k6 load test for the customer and order read/write paths.
+//   k6 run -e BASE_URL=http://localhost:8080 -e LABEL=platform --summary-export results/platform.json customers-orders.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CUSTOMER_IDS = Number(__ENV.CUSTOMER_IDS || 1000);
+const PRODUCT_IDS = Number(__ENV.PRODUCT_IDS || 100);
+const RATE = Number(__ENV.RATE || 2000);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    customers: {
+      executor: 'constant-arrival-rate',
+      exec: 'customers',
+      rate: Math.round(RATE * 0.6),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+    },
+    orders: {
+      executor: 'constant-arrival-rate',
+      exec: 'orders',
+      rate: Math.round(RATE * 0.3),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 100,
+      maxVUs: 1000,
+    },
+    placeOrder: {
+      executor: 'constant-arrival-rate',
+      exec: 'placeOrder',
+      rate: Math.round(RATE * 0.1),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 50,
+      maxVUs: 500,
+    },
+  },
+  thresholds: {
+    'http_req_failed{scenario:customers}': ['rate<0.01'],
+    'http_req_failed{scenario:orders}': ['rate<0.01'],
+  },
+};
+
+function randomId(max) {
+  return 1 + Math.floor(Math.random() * max);
+}
+
+export function customers() {
+  const list = http.get(`${BASE_URL}/api/v1/customers?page=${randomId(50) - 1}&size=20`, { tags: { name: 'customers.list' } });
+  check(list, { 'customers list 200': (r) => r.status === 200 });
+  const one = http.get(`${BASE_URL}/api/v1/customers/${randomId(CUSTOMER_IDS)}`, { tags: { name: 'customers.get' } });
+  check(one, { 'customer get 200/404': (r) => r.status === 200 || r.status === 404 });
+}
+
+export function orders() {
+  const list = http.get(`${BASE_URL}/api/v1/orders?page=${randomId(20) - 1}&size=10`, { tags: { name: 'orders.list' } });
+  check(list, { 'orders list 200': (r) => r.status === 200 });
+}
+
+export function placeOrder() {
+  const body = JSON.stringify({
+    orderDate: new Date().toISOString().substring(0, 10),
+    status: 'NEW',
+    customerId: randomId(CUSTOMER_IDS),
+    lines: [
+      { productId: randomId(PRODUCT_IDS), quantity: 1 },
+      { productId: randomId(PRODUCT_IDS), quantity: 2 },
+    ],
+  });
+  const res = http.post(`${BASE_URL}/api/v1/orders`, body, {
+    headers: { 'Content-Type': 'application/json' },
+    tags: { name: 'orders.create' },
+  });
+  // 409 is an expected business outcome (stock exhausted) and 404 an unknown random customer
+  check(res, { 'order placed or rejected': (r) => [201, 404, 409].includes(r.status) });
+}
@@ -0,0 +1,120 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.model.ProductSubCategory;
+import com.example.crm.web.dto.CustomerDto;
+import com.example.crm.web.dto.CustomerMapper;
+import com.example.crm.web.dto.CustomerMapperImpl;
+import com.example.crm.web.dto.OrderHeaderDto;
+import com.example.crm.web.dto.OrderHeaderMapper;
+import com.example.crm.web.dto.OrderHeaderMapperImpl;
+import com.example.crm.web.dto.ProductDto;
+import com.example.crm.web.dto.ProductMapper;
+import com.example.crm.web.dto.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers in both directions, using the generated implementations directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({"1", "50"})
+    int orderLines;
+
+    final OrderHeaderMapper orderMapper = new OrderHeaderMapperImpl();
+    final ProductMapper productMapper = new ProductMapperImpl();
+    final CustomerMapper customerMapper = new CustomerMapperImpl();
+
+    OrderHeader order;
+    OrderHeaderDto orderDto;
+    Product product;
+    ProductDto productDto;
+    Customer customer;
+    CustomerDto customerDto;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer(1L, "John", "Doe", "john@doe.com");
+        customerDto = customerMapper.toDto(customer);
+
+        ProductSubCategory subCategory = new ProductSubCategory();
+        subCategory.setId(3L);
+        product = new Product();
+        product.setId(7L);
+        product.setSku("SKU-7");
+        product.setName("Cordless drill");
+        product.setDescription("18V cordless drill with two batteries");
+        product.setPrice(new BigDecimal("129.90"));
+        product.setStockQuantity(40);
+        product.setSubCategory(subCategory);
+        productDto = productMapper.toDto(product);
+
+        order = new OrderHeader();
+        order.setId(11L);
+        order.setOrderDate(LocalDate.of(2024, 1, 15));
+        order.setStatus(OrderStatus.NEW);
+        order.setCustomer(customer);
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < orderLines; i++) {
+            OrderLine line = new OrderLine();
+            line.setProduct(product);
+            line.setQuantity(2);
+            line.setUnitPrice(product.getPrice());
+            line.setLineTotal(product.getPrice().multiply(BigDecimal.valueOf(2)));
+            lines.add(line);
+        }
+        order.setLines(lines);
+        order.setTotalAmount(product.getPrice().multiply(BigDecimal.valueOf(2L * orderLines)));
+        orderDto = orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public OrderHeaderDto orderToDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public OrderHeader orderToEntity() {
+        return orderMapper.toEntity(orderDto);
+    }
+
+    @Benchmark
+    public ProductDto productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toEntity(productDto);
+    }
+
+    @Benchmark
+    public CustomerDto customerToDto() {
+        return customerMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public Customer customerToEntity() {
+        return customerMapper.toEntity(customerDto);
+    }
+}
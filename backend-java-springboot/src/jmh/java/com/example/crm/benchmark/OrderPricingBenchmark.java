@@ -0,0 +1,91 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.OrderLineRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.service.CustomerService;
+import com.example.crm.service.OrderHistoryService;
+import com.example.crm.service.OrderService;
+import com.example.crm.service.StockReservationService;
+import com.example.crm.service.outbox.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * {@link OrderService#create} with stubbed persistence: measures quantity aggregation, stock checks
+ * and line pricing. Each invocation builds a fresh order because create mutates it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    int lines;
+
+    @Param({"10"})
+    int distinctProducts;
+
+    OrderService service;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= distinctProducts; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(id)));
+            product.setStockQuantity(Integer.MAX_VALUE);
+            products.add(product);
+        }
+        OrderHeaderRepository headerRepository = mock(OrderHeaderRepository.class, withSettings().stubOnly());
+        ProductRepository productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        CustomerService customerService = mock(CustomerService.class, withSettings().stubOnly());
+        when(customerService.findById(anyLong())).thenReturn(new Customer(1L, "John", "Doe", "john@doe.com"));
+        when(productRepository.findAllById(any())).thenReturn(products);
+        when(headerRepository.save(any(OrderHeader.class))).thenAnswer(inv -> inv.getArgument(0));
+        service = new OrderService(headerRepository, mock(OrderLineRepository.class, withSettings().stubOnly()),
+                productRepository, customerService, mock(StockReservationService.class, withSettings().stubOnly()),
+                mock(OrderHistoryService.class, withSettings().stubOnly()),
+                mock(OutboxService.class, withSettings().stubOnly()), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public OrderHeader create() {
+        OrderHeader order = new OrderHeader();
+        order.setCustomer(new Customer(1L, null, null, null));
+        List<OrderLine> orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product();
+            product.setId((long) (i % distinctProducts) + 1);
+            OrderLine line = new OrderLine();
+            line.setProduct(product);
+            line.setQuantity(i % 5 + 1);
+            orderLines.add(line);
+        }
+        order.setLines(orderLines);
+        return service.create(order, null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.web.dto.CustomerDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a customer page as returned by GET /api/v1/customers, using an
+ * ObjectMapper configured the way Spring Boot configures the MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    ObjectMapper objectMapper;
+    Page<CustomerDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<CustomerDto> content = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            content.add(new CustomerDto(i, "First" + i, "Last" + i, "customer" + i + "@example.com", i));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("lastName")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
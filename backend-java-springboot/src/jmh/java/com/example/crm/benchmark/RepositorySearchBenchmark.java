@@ -0,0 +1,133 @@
+package com.example.crm.benchmark;
+
+import com.example.Application;
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository search queries against an in-memory H2 database in MySQL mode, seeded through the
+ * bulk insert path. Absolute numbers differ from MySQL; compare runs against each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositorySearchBenchmark {
+
+    private static final int SEED_BATCH = 1000;
+
+    @Param({"10000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    CustomerRepository customerRepository;
+    ProductRepository productRepository;
+    Pageable firstPage = PageRequest.of(0, 20, Sort.by("id"));
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        // Command line arguments so they override application.properties and the dev profile
+        context = application.run(
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--logging.level.root=WARN");
+        customerRepository = context.getBean(CustomerRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Customer> customerSearchTerm() {
+        return customerRepository.findBySearchTerm("smith", firstPage);
+    }
+
+    @Benchmark
+    public Page<Customer> customerFullName() {
+        return customerRepository.findByFullNameContaining("anna smith", firstPage);
+    }
+
+    @Benchmark
+    public Page<Customer> customerEmail() {
+        return customerRepository.findByEmailContainingIgnoreCase("example.org", firstPage);
+    }
+
+    @Benchmark
+    public Page<Product> productSearchTerm() {
+        return productRepository.findBySearchTerm("drill", firstPage);
+    }
+
+    @Benchmark
+    public Page<Product> productSku() {
+        return productRepository.findBySkuContainingIgnoreCase("sku-12", firstPage);
+    }
+
+    private void seed() {
+        String[] firstNames = {"Anna", "Ben", "Chloe", "David", "Emma", "Felix", "Grace", "Hugo"};
+        String[] lastNames = {"Smith", "Jones", "Martin", "Garcia", "Muller", "Rossi", "Dubois", "Novak"};
+        String[] items = {"drill", "hammer", "saw", "wrench", "pliers", "level", "sander", "clamp"};
+        List<Customer> customers = new ArrayList<>(SEED_BATCH);
+        List<Product> products = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName(firstNames[i % firstNames.length]);
+            customer.setLastName(lastNames[(i / firstNames.length) % lastNames.length] + i);
+            customer.setEmail("customer" + i + (i % 2 == 0 ? "@example.org" : "@example.com"));
+            customers.add(customer);
+
+            Product product = new Product();
+            product.setSku("SKU-" + i);
+            product.setName(items[i % items.length] + " model " + i);
+            product.setDescription("A " + items[(i + 3) % items.length] + " for the workshop");
+            product.setPrice(BigDecimal.valueOf(10 + i % 90));
+            product.setStockQuantity(i % 50);
+            product.setActive(true);
+            products.add(product);
+
+            if (customers.size() == SEED_BATCH) {
+                customerRepository.insertAll(customers);
+                productRepository.insertAll(products);
+                customers.clear();
+                products.clear();
+            }
+        }
+        if (!customers.isEmpty()) {
+            customerRepository.insertAll(customers);
+            productRepository.insertAll(products);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.crm.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "productCategories";
+    public static final String CATEGORY = "productCategory";
+    public static final String SUBCATEGORIES = "productSubCategories";
+    public static final String SUBCATEGORIES_BY_CATEGORY = "productSubCategoriesByCategory";
+    public static final String SUBCATEGORY = "productSubCategory";
+
+    // Evictions are deferred to commit so a concurrent reader cannot re-cache rows a writer is still changing
+    @Bean
+    public CacheManager cacheManager(@Value("${crm.cache.categories.max-size:1000}") long maxSize,
+                                     @Value("${crm.cache.categories.expire-after-write:1h}") Duration expireAfterWrite) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        caffeine.setCacheNames(List.of(CATEGORIES, CATEGORY, SUBCATEGORIES, SUBCATEGORIES_BY_CATEGORY, SUBCATEGORY));
+        caffeine.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
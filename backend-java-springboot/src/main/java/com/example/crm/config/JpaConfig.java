@@ -0,0 +1,42 @@
+package com.example.crm.config;
+
+import com.example.crm.domain.id.AllocatedIdGenerator;
+import com.example.crm.domain.id.IdAllocator;
+import com.example.crm.domain.repository.KeysetJpaRepository;
+import com.example.crm.monitoring.EntityLoadCounter;
+import com.example.crm.monitoring.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableJpaRepositories(basePackages = "com.example", repositoryBaseClass = KeysetJpaRepository.class)
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCounter());
+        };
+    }
+
+    // Shared by @AllocatedId entities and the JDBC bulk writers, so both draw from the same blocks
+    @Bean
+    public IdAllocator idAllocator(DataSource dataSource,
+                                   @Value("${crm.ids.strategy:pooled}") String strategy,
+                                   @Value("${crm.ids.block-size:100}") int blockSize,
+                                   @Value("${crm.ids.node-id:0}") int nodeId) {
+        return IdAllocator.create(strategy, dataSource, blockSize, nodeId);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocatorCustomizer(IdAllocator idAllocator) {
+        return properties -> properties.put(AllocatedIdGenerator.ALLOCATOR, idAllocator);
+    }
+}
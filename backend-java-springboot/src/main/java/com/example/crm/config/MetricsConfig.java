@@ -0,0 +1,28 @@
+package com.example.crm.config;
+
+import com.example.crm.monitoring.QueryInspector;
+import com.example.crm.monitoring.RequestMetricsFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on services (crm.service) and mappers (crm.mapper), tagged with class and method
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry registry,
+                                                                            QueryInspector inspector) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, inspector));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.crm.config;
+
+import com.example.crm.monitoring.QueryInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class QueryInspectionConfig {
+
+    @Bean
+    public QueryInspector queryInspector(@Value("${crm.queries.slow-threshold:500ms}") Duration slowThreshold,
+                                         @Value("${crm.queries.repeat-threshold:5}") int repeatThreshold,
+                                         MeterRegistry registry) {
+        return new QueryInspector(slowThreshold, repeatThreshold, registry);
+    }
+
+    // Wraps the pool so every statement passes the inspector; Hikari metrics still find the pool through unwrap()
+    @Bean
+    public static BeanPostProcessor queryInspectingDataSource(ObjectProvider<QueryInspector> inspector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(inspector.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.crm.config;
+
+import com.example.crm.datasource.ReadYourWritesFilter;
+import com.example.crm.datasource.ReplicaRoutingDataSource;
+import com.example.crm.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool with a primary and replica pools. The connection of a transaction
+ * is fetched lazily, so read-only transactions reach {@link ReplicaRoutingDataSource} and everything
+ * else the primary. Replica pools share the {@code spring.datasource.hikari.*} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "crm.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment environment, MeterRegistry registry,
+                                 @Value("${crm.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${crm.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                 @Value("${crm.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                 @Value("${crm.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("crm-primary");
+        }
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setPoolName("crm-" + name);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(registry);
+            replicas.put(name, replica);
+        }
+        primary.setMetricRegistry(registry);
+        return new ReplicaSet(primary, replicas, maxLag, registry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet, MeterRegistry registry) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource(replicaSet, registry);
+        readOnly.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaSet.primary());
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${crm.datasource.replicas.stickiness:10s}") Duration stickiness) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickiness));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
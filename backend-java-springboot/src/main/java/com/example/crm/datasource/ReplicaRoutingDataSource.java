@@ -0,0 +1,63 @@
+package com.example.crm.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only data source of the application. Connections go round robin to the replicas that are
+ * within the lag limit, and to the primary when none is, or when the current thread is
+ * {@linkplain #pinToPrimary(boolean) pinned} to read its own writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReplicaSet replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> reads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(ReplicaSet replicas, MeterRegistry registry) {
+        this.replicas = replicas;
+        Map<Object, Object> targets = new HashMap<>(replicas.replicas());
+        targets.put(PRIMARY, replicas.primary());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(replicas.primary());
+        setLenientFallback(false);
+        targets.keySet().forEach(name -> reads.put((String) name, Counter.builder("crm.datasource.reads")
+                .description("Read-only connections handed out, by target")
+                .tag("target", (String) name)
+                .register(registry)));
+    }
+
+    public static void pinToPrimary(boolean pinned) {
+        if (pinned) {
+            PINNED.set(Boolean.TRUE);
+        } else {
+            PINNED.remove();
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY;
+        if (!isPinnedToPrimary()) {
+            List<String> available = replicas.available();
+            if (!available.isEmpty()) {
+                target = available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+            }
+        }
+        reads.get(target).increment();
+        return target;
+    }
+}
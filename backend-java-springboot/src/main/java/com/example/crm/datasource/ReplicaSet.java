@@ -0,0 +1,106 @@
+package com.example.crm.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The primary and replica pools behind {@link ReplicaRoutingDataSource}. Replication lag is polled
+ * in the background; a replica whose lag exceeds the limit, or that cannot report it, is taken out
+ * of rotation until it catches up.
+ */
+public class ReplicaSet implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+    private static final long UNAVAILABLE = -1;
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+    private final long maxLagSeconds;
+
+    public ReplicaSet(HikariDataSource primary, Map<String, HikariDataSource> replicas, Duration maxLag,
+                      MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLagSeconds = maxLag.toSeconds();
+        replicas.keySet().forEach(name -> {
+            lagSeconds.put(name, UNAVAILABLE);
+            Gauge.builder("crm.datasource.replica.lag", lagSeconds, lags -> lagOf(lags, name))
+                    .description("Replication lag of a read replica, NaN while it cannot be reached")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(registry);
+        });
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public Map<String, ? extends DataSource> replicas() {
+        return replicas;
+    }
+
+    /** Replicas currently within the lag limit, in configuration order. */
+    public List<String> available() {
+        return replicas.keySet().stream()
+                .filter(name -> {
+                    long lag = lagSeconds.getOrDefault(name, UNAVAILABLE);
+                    return lag != UNAVAILABLE && lag <= maxLagSeconds;
+                })
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${crm.datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        replicas.forEach((name, pool) -> {
+            long lag = measureLag(name, pool);
+            long previous = lagSeconds.put(name, lag);
+            boolean wasAvailable = previous != UNAVAILABLE && previous <= maxLagSeconds;
+            boolean isAvailable = lag != UNAVAILABLE && lag <= maxLagSeconds;
+            if (wasAvailable && !isAvailable) {
+                log.warn("Replica {} taken out of rotation (lag {}s)", name, lag == UNAVAILABLE ? "unknown" : lag);
+            } else if (!wasAvailable && isAvailable) {
+                log.info("Replica {} back in rotation (lag {}s)", name, lag);
+            }
+        });
+    }
+
+    private long measureLag(String name, DataSource pool) {
+        try {
+            // A server without replication status (e.g. a standalone read copy) counts as up to date
+            return new JdbcTemplate(pool).query("SHOW REPLICA STATUS", rs -> {
+                if (!rs.next()) {
+                    return 0L;
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? UNAVAILABLE : seconds;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Lag check of replica {} failed", name, e);
+            return UNAVAILABLE;
+        }
+    }
+
+    private static double lagOf(Map<String, Long> lags, String name) {
+        long lag = lags.getOrDefault(name, UNAVAILABLE);
+        return lag == UNAVAILABLE ? Double.NaN : lag;
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
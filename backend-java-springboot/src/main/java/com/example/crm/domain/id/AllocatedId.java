@@ -0,0 +1,16 @@
+package com.example.crm.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Generates the id from the application's {@link IdAllocator}; the sequence is named after the table. */
+@IdGeneratorType(AllocatedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface AllocatedId {
+    String value();
+}
@@ -0,0 +1,35 @@
+package com.example.crm.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate side of {@link AllocatedId}. The allocator is the Spring bean, passed in through the
+ * Hibernate settings under {@link #ALLOCATOR}, so entity saves and JDBC bulk inserts share its blocks.
+ */
+public class AllocatedIdGenerator implements IdentifierGenerator {
+    public static final String ALLOCATOR = "crm.ids.allocator";
+
+    private final String sequence;
+    private volatile IdAllocator allocator;
+
+    public AllocatedIdGenerator(AllocatedId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequence = config.value();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        IdAllocator ids = allocator;
+        if (ids == null) {
+            ids = (IdAllocator) session.getFactory().getProperties().get(ALLOCATOR);
+            if (ids == null) {
+                throw new IllegalStateException("No IdAllocator in the Hibernate settings under " + ALLOCATOR);
+            }
+            allocator = ids;
+        }
+        return ids.next(sequence);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.crm.domain.id;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out entity ids before the INSERT, so Hibernate and the JDBC bulk writers can batch inserts
+ * (IDENTITY columns force one round trip per row). Ids are unique per sequence across app nodes.
+ */
+public interface IdAllocator {
+
+    long next(String sequence);
+
+    static IdAllocator create(String strategy, DataSource dataSource, int blockSize, int nodeId) {
+        return switch (strategy) {
+            case "pooled" -> new PooledIdAllocator(dataSource, blockSize);
+            case "snowflake" -> new SnowflakeIdAllocator(nodeId);
+            default -> throw new IllegalArgumentException("Unknown id strategy: " + strategy);
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.crm.domain.id;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Reserves blocks of ids from the {@code id_allocations} table and hands them out from memory, so a
+ * node touches the table once per block. Blocks are reserved on a separate connection and committed
+ * at once; a rolled-back business transaction only leaves a gap. A sequence missing from the table
+ * starts after the highest id of the table it is named after.
+ * <p>
+ * A refill does JDBC I/O while holding its sequence's lock, so the lock is a {@link ReentrantLock}:
+ * threads queued behind it park instead of pinning virtual threads' carriers.
+ */
+public class PooledIdAllocator implements IdAllocator {
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+    private static final String LOCK_SQL = "SELECT next_value FROM id_allocations WHERE name = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE id_allocations SET next_value = ? WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO id_allocations (name, next_value) VALUES (?, ?)";
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public PooledIdAllocator(DataSource dataSource, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.dataSource = dataSource;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long next(String sequence) {
+        Block block = blocks.computeIfAbsent(sequence, name -> new Block());
+        block.lock.lock();
+        try {
+            if (block.next == block.limit) {
+                block.next = reserve(sequence);
+                block.limit = block.next + blockSize;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private long reserve(String sequence) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                return reserve(connection, sequence);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not reserve ids for " + sequence, e);
+        }
+    }
+
+    private long reserve(Connection connection, String sequence) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Long start = lock(connection, sequence);
+                if (start == null) {
+                    start = highestId(connection, sequence) + 1;
+                    execute(connection, INSERT_SQL, sequence, start + blockSize);
+                } else {
+                    execute(connection, UPDATE_SQL, start + blockSize, sequence);
+                }
+                connection.commit();
+                return start;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Another node created the sequence row first; take a block from it instead
+                connection.rollback();
+                if (attempt > 0) {
+                    throw e;
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static Long lock(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_SQL)) {
+            statement.setString(1, sequence);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private static long highestId(Connection connection, String table) throws SQLException {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Sequence is not a table name: " + table);
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM " + table);
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static final class Block {
+        final ReentrantLock lock = new ReentrantLock();
+        long next;
+        long limit;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.crm.domain.id;
+
+import java.time.Instant;
+
+/**
+ * Time-ordered ids without a database round trip: 41 bits of milliseconds since 2024-01-01, a 10-bit
+ * node id and a 12-bit counter. Every node needs its own {@code crm.ids.node-id}. One counter serves all
+ * sequences. If the clock steps back, the last timestamp keeps being used until the clock catches up.
+ * The ids exceed 2^53, so JavaScript clients have to treat them as strings.
+ */
+public class SnowflakeIdAllocator implements IdAllocator {
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+
+    private final long node;
+    private long lastMillis = -1;
+    private long counter;
+
+    public SnowflakeIdAllocator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.node = nodeId;
+    }
+
+    @Override
+    public synchronized long next(String sequence) {
+        long now = Math.max(System.currentTimeMillis(), lastMillis);
+        if (now == lastMillis) {
+            counter = (counter + 1) & MAX_COUNTER;
+            if (counter == 0) {
+                // Counter exhausted within this millisecond: borrow the next one
+                now++;
+            }
+        } else {
+            counter = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH) << (NODE_BITS + COUNTER_BITS)) | (node << COUNTER_BITS) | counter;
+    }
+}
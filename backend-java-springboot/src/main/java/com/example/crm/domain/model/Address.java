@@ -1,10 +1,10 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +14,7 @@ import java.time.Instant;
 @Table(name = "addresses")
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("addresses")
     private Long id;
 
     private String street;
@@ -28,6 +28,9 @@ public class Address {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    @Version
+    private Long version;
+
     public Address() {}
 
     public Address(Long id, String street, String city, String state, String postalCode) {
@@ -55,4 +58,6 @@ public class Address {
 
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
 }
@@ -1,5 +1,6 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,7 +13,7 @@ import java.time.Instant;
 })
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("customers")
     private Long id;
 
     @Column(name = "first_name")
@@ -34,6 +35,9 @@ public class Customer {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    @Version
+    private Long version;
+
     public Customer() {}
 
     public Customer(Long id, String firstName, String lastName, String email) {
@@ -60,4 +64,6 @@ public class Customer {
 
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
 }
@@ -0,0 +1,24 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Next free id of one sequence, advanced a block at a time by {@code PooledIdAllocator}.
+ * Mapped only so that schema generation creates the table; never read through JPA.
+ */
+@Entity
+@Table(name = "id_allocations")
+public class IdAllocation {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+}
@@ -0,0 +1,53 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One stock change of one product, appended in the transaction that changes {@code stock_quantity} and never
+ * updated afterwards. The product id is a plain column so the history outlives deleted products. Ids come
+ * from AUTO_INCREMENT, so they follow insertion order, which snapshots rely on.
+ */
+@Entity
+@Table(name = "inventory_movements",
+        indexes = @Index(name = "idx_inventory_movements_product", columnList = "product_id, id"))
+public class InventoryMovement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private int quantityDelta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", length = 32, nullable = false)
+    private MovementReason reason;
+
+    // Order id for order movements
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected InventoryMovement() {}
+
+    public InventoryMovement(Long productId, int quantityDelta, MovementReason reason, Long referenceId) {
+        this.productId = productId;
+        this.quantityDelta = quantityDelta;
+        this.reason = reason;
+        this.referenceId = referenceId;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getProductId() { return productId; }
+    public int getQuantityDelta() { return quantityDelta; }
+    public MovementReason getReason() { return reason; }
+    public Long getReferenceId() { return referenceId; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,38 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Stock of a product after every movement up to {@code lastMovementId}, so stock at a point in time
+ * and rebuilds only add up the movements that follow. Written in bulk by the snapshot job.
+ */
+@Entity
+@Table(name = "inventory_snapshots",
+        indexes = @Index(name = "idx_inventory_snapshots_product", columnList = "product_id, as_of"))
+public class InventorySnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "stock", nullable = false)
+    private int stock;
+
+    @Column(name = "last_movement_id", nullable = false)
+    private long lastMovementId;
+
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    protected InventorySnapshot() {}
+
+    public Long getId() { return id; }
+    public Long getProductId() { return productId; }
+    public int getStock() { return stock; }
+    public long getLastMovementId() { return lastMovementId; }
+    public Instant getAsOf() { return asOf; }
+}
@@ -0,0 +1,10 @@
+package com.example.crm.domain.model;
+
+public enum MovementReason {
+    /** Stock a product started with, on creation or import. */
+    INITIAL,
+    ORDER_PLACED,
+    ORDER_CANCELLED,
+    /** Manual correction through a product update. */
+    ADJUSTMENT
+}
@@ -1,5 +1,6 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,7 +11,7 @@ import java.time.Instant;
 @Table(name = "orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("orders")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
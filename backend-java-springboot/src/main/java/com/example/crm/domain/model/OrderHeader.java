@@ -1,5 +1,6 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,10 +11,17 @@ import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "order_headers")
+// Composite indexes for the order search: equality columns first, the order_date range last
+@Table(name = "order_headers",
+        indexes = {
+                @Index(name = "idx_order_headers_customer_date", columnList = "customer_id, order_date"),
+                @Index(name = "idx_order_headers_customer_status_date", columnList = "customer_id, status, order_date"),
+                @Index(name = "idx_order_headers_status_date", columnList = "status, order_date"),
+                @Index(name = "idx_order_headers_date", columnList = "order_date")
+        })
 public class OrderHeader {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("order_headers")
     private Long id;
 
     private LocalDate orderDate;
@@ -48,6 +56,13 @@ public class OrderHeader {
     public OrderStatus getStatus() { return status; }
     public void setStatus(OrderStatus status) { this.status = status; }
 
+    public void transitionTo(OrderStatus target) {
+        if (status == null || !status.canTransitionTo(target)) {
+            throw new IllegalStateException("Order cannot move from " + status + " to " + target);
+        }
+        this.status = target;
+    }
+
     public Customer getCustomer() { return customer; }
     public void setCustomer(Customer customer) { this.customer = customer; }
 
@@ -57,6 +72,8 @@ public class OrderHeader {
     public List<OrderLine> getLines() { return lines; }
     public void setLines(List<OrderLine> lines) { this.lines = lines; }
 
+    public Long getVersion() { return version; }
+
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 }
@@ -1,14 +1,19 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_lines")
+@Table(name = "order_lines",
+        indexes = {
+                @Index(name = "idx_order_lines_order", columnList = "order_id"),
+                @Index(name = "idx_order_lines_product", columnList = "product_id")
+        })
 public class OrderLine {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("order_lines")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
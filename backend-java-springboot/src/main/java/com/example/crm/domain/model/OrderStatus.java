@@ -1,5 +1,13 @@
 package com.example.crm.domain.model;
 
 public enum OrderStatus {
-    NEW, PAID, SHIPPED, CANCELLED
+    NEW, PAID, SHIPPED, CANCELLED;
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case NEW -> target == PAID || target == CANCELLED;
+            case PAID -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One status change of one order, written in the transaction that makes it. The table is partitioned by
+ * month of {@code changed_at} in MySQL, so queries bounded by time only read the matching partitions;
+ * partitioned tables cannot have foreign keys, hence the plain order id.
+ */
+@Entity
+@Table(name = "order_status_events",
+        indexes = {
+                @Index(name = "idx_order_status_events_order", columnList = "order_id, changed_at"),
+                @Index(name = "idx_order_status_events_status", columnList = "to_status, changed_at")
+        })
+public class OrderStatusEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // Null for the event that creates the order
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 20, nullable = false)
+    private OrderStatus toStatus;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    protected OrderStatusEvent() {}
+
+    public OrderStatusEvent(Long orderId, OrderStatus fromStatus, OrderStatus toStatus, Long version,
+                            String changedBy) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.version = version;
+        this.changedBy = changedBy;
+        this.changedAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getOrderId() { return orderId; }
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public OrderStatus getToStatus() { return toStatus; }
+    public Long getVersion() { return version; }
+    public String getChangedBy() { return changedBy; }
+    public Instant getChangedAt() { return changedAt; }
+}
@@ -0,0 +1,71 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * An event recorded in the same transaction as the change it describes and delivered later by the
+ * outbox dispatcher. Rows stay pending until every enabled sink has accepted them.
+ */
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_pending", columnList = "published_at, id"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", length = 32, nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", length = 64, nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public String getAggregateType() { return aggregateType; }
+    public Long getAggregateId() { return aggregateId; }
+    public String getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getPublishedAt() { return publishedAt; }
+    public int getAttempts() { return attempts; }
+    public String getLastError() { return lastError; }
+
+    public void markPublished(Instant at) {
+        this.publishedAt = at;
+    }
+
+    public void markFailed(String error) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 import java.util.List;
 
@@ -7,11 +8,15 @@ import java.util.List;
 @Table(name = "product_categories")
 public class ProductCategory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("product_categories")
     private Long id;
 
     private String name;
 
+    // Default for the category's products; crm.inventory.low-stock-threshold applies when unset
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductSubCategory> subCategories;
 
@@ -21,6 +26,9 @@ public class ProductCategory {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public Integer getLowStockThreshold() { return lowStockThreshold; }
+    public void setLowStockThreshold(Integer lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
+
     public List<ProductSubCategory> getSubCategories() { return subCategories; }
     public void setSubCategories(List<ProductSubCategory> subCategories) { this.subCategories = subCategories; }
 }
@@ -1,5 +1,6 @@
 package com.example.crm.domain.model;
 
+import com.example.crm.domain.id.AllocatedId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
@@ -9,7 +10,7 @@ import java.util.List;
 @Table(name = "product_subcategories")
 public class ProductSubCategory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId("product_subcategories")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,6 +23,9 @@ public class ProductSubCategory {
     @Column(name = "modified_date")
     private Instant modifiedDate;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "subCategory", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Product> products;
 
@@ -37,6 +41,8 @@ public class ProductSubCategory {
     public Instant getModifiedDate() { return modifiedDate; }
     public void setModifiedDate(Instant modifiedDate) { this.modifiedDate = modifiedDate; }
 
+    public Long getVersion() { return version; }
+
     public List<Product> getProducts() { return products; }
     public void setProducts(List<Product> products) { this.products = products; }
 }
@@ -0,0 +1,48 @@
+package com.example.crm.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales of one day for one customer, product or category (TOTAL rows use dimension id 0).
+ * Maintained incrementally from order events; never written through JPA.
+ */
+@Entity
+@Table(name = "sales_daily_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "ux_sales_daily_bucket",
+                columnNames = {"dimension", "dimension_id", "bucket_date"}),
+        indexes = @Index(name = "idx_sales_daily_date", columnList = "dimension, bucket_date"))
+public class SalesDailyAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16, nullable = false)
+    private SalesDimension dimension;
+
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "revenue", precision = 19, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    public Long getId() { return id; }
+    public SalesDimension getDimension() { return dimension; }
+    public Long getDimensionId() { return dimensionId; }
+    public LocalDate getBucketDate() { return bucketDate; }
+    public BigDecimal getRevenue() { return revenue; }
+    public Long getOrderCount() { return orderCount; }
+    public Long getUnits() { return units; }
+}
@@ -0,0 +1,5 @@
+package com.example.crm.domain.model;
+
+public enum SalesDimension {
+    TOTAL, CUSTOMER, PRODUCT, CATEGORY
+}
@@ -3,11 +3,12 @@ package com.example.crm.domain.repository;
 import com.example.crm.domain.model.Address;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface AddressRepository extends JpaRepository<Address, Long> {
+import java.util.List;
+
+public interface AddressRepository extends KeysetRepository<Address, Long> {
     
     @Query("SELECT a FROM Address a WHERE " +
            "LOWER(a.street) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -21,4 +22,7 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     Page<Address> findByStateContainingIgnoreCase(String state, Pageable pageable);
     
     Page<Address> findByPostalCodeContaining(String postalCode, Pageable pageable);
+
+    @Query("SELECT a.id FROM Address a")
+    List<Long> findAllIds();
 }
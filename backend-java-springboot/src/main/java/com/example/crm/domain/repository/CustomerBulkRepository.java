@@ -0,0 +1,14 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.Customer;
+
+import java.util.List;
+
+public interface CustomerBulkRepository {
+
+    /**
+     * Inserts the customers with a single JDBC batch, bypassing the persistence context.
+     * Ids are assigned by the database and are not written back to the entities.
+     */
+    void insertAll(List<Customer> customers);
+}
@@ -0,0 +1,34 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.id.IdAllocator;
+import com.example.crm.domain.model.Customer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+class CustomerBulkRepositoryImpl implements CustomerBulkRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO customers (id, first_name, last_name, email, address_id, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator ids;
+
+    CustomerBulkRepositoryImpl(JdbcTemplate jdbcTemplate, IdAllocator ids) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ids = ids;
+    }
+
+    @Override
+    public void insertAll(List<Customer> customers) {
+        customers.forEach(customer -> customer.setId(ids.next("customers")));
+        jdbcTemplate.batchUpdate(INSERT_SQL, customers, customers.size(), (ps, customer) -> {
+            ps.setLong(1, customer.getId());
+            ps.setString(2, customer.getFirstName());
+            ps.setString(3, customer.getLastName());
+            ps.setString(4, customer.getEmail());
+            ps.setObject(5, customer.getAddress() == null ? null : customer.getAddress().getId(), Types.BIGINT);
+        });
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.crm.domain.repository;
 
 import com.example.crm.domain.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CustomerRepository extends KeysetRepository<Customer, Long>, CustomerBulkRepository {
     
     @Query("SELECT c FROM Customer c WHERE " +
            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -26,4 +32,24 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Page<Customer> findByAddressCityContaining(@Param("city") String city, Pageable pageable);
     
     boolean existsByEmailIgnoreCase(String email);
+
+    Slice<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT LOWER(c.email) FROM Customer c WHERE c.email IS NOT NULL")
+    List<String> findAllEmailsLowerCase();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Customer c LEFT JOIN c.address a WHERE " +
+           "(:searchTerm IS NULL OR LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+           "(:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
+           "(:name IS NULL OR LOWER(CONCAT(c.firstName, ' ', c.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+           "(:city IS NULL OR LOWER(a.city) LIKE LOWER(CONCAT('%', :city, '%'))) " +
+           "ORDER BY c.id")
+    Stream<Customer> streamForExport(@Param("searchTerm") String searchTerm,
+                                     @Param("email") String email,
+                                     @Param("name") String name,
+                                     @Param("city") String city);
 }
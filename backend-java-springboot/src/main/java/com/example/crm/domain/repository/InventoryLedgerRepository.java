@@ -0,0 +1,26 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.InventoryMovement;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface InventoryLedgerRepository {
+
+    void appendAll(List<InventoryMovement> movements);
+
+    /**
+     * Snapshots every product with movements after its latest snapshot, up to and including
+     * {@code lastMovementId}. Movements up to {@code afterMovementId} are known to be covered by earlier
+     * snapshots and are not scanned. Returns the number of snapshots written.
+     */
+    int snapshot(long afterMovementId, long lastMovementId, Instant asOf);
+
+    /**
+     * Sets {@code stock_quantity} to the latest snapshot plus the movements after it, for the given
+     * products or, when {@code productIds} is null, for every product with a ledger. Returns the
+     * number of products whose stock was corrected.
+     */
+    int rebuildStock(Collection<Long> productIds);
+}
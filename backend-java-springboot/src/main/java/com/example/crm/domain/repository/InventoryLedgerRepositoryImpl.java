@@ -0,0 +1,79 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.InventoryMovement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+class InventoryLedgerRepositoryImpl implements InventoryLedgerRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_movements (product_id, quantity_delta, reason, reference_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String LATEST_SNAPSHOT =
+            "LEFT JOIN inventory_snapshots s ON s.id = " +
+            "(SELECT MAX(s2.id) FROM inventory_snapshots s2 WHERE s2.product_id = %s) ";
+
+    private static final String SNAPSHOT_SQL =
+            "INSERT INTO inventory_snapshots (product_id, stock, last_movement_id, as_of) " +
+            "SELECT m.product_id, COALESCE(s.stock, 0) + SUM(m.quantity_delta), :last, :asOf " +
+            "FROM inventory_movements m " + String.format(LATEST_SNAPSHOT, "m.product_id") +
+            "WHERE m.id > :after AND m.id <= :last AND m.id > COALESCE(s.last_movement_id, 0) " +
+            "GROUP BY m.product_id, s.stock";
+
+    // Product rows are locked first so no stock change can commit between reading the ledger and writing the stock
+    private static final String LOCK_SQL = "SELECT id FROM products %s ORDER BY id FOR UPDATE";
+
+    // The GROUP BY keeps the derived table materialized, which MySQL requires when updating the table it reads
+    private static final String REBUILD_SQL =
+            "UPDATE products p JOIN (" +
+            "SELECT p2.id AS product_id, COALESCE(s.stock, 0) + COALESCE(SUM(m.quantity_delta), 0) AS ledger_stock " +
+            "FROM products p2 " + String.format(LATEST_SNAPSHOT, "p2.id") +
+            "LEFT JOIN inventory_movements m ON m.product_id = p2.id AND m.id > COALESCE(s.last_movement_id, 0) " +
+            "WHERE (s.id IS NOT NULL OR m.id IS NOT NULL) %s " +
+            "GROUP BY p2.id, s.stock) l ON l.product_id = p.id " +
+            "SET p.stock_quantity = l.ledger_stock, p.version = p.version + 1, p.updated_at = CURRENT_TIMESTAMP " +
+            "WHERE p.stock_quantity IS NULL OR p.stock_quantity <> l.ledger_stock";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    InventoryLedgerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void appendAll(List<InventoryMovement> movements) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, 500, (ps, movement) -> {
+            ps.setLong(1, movement.getProductId());
+            ps.setInt(2, movement.getQuantityDelta());
+            ps.setString(3, movement.getReason().name());
+            ps.setObject(4, movement.getReferenceId(), Types.BIGINT);
+            ps.setTimestamp(5, Timestamp.from(movement.getCreatedAt()));
+        });
+    }
+
+    @Override
+    public int snapshot(long afterMovementId, long lastMovementId, Instant asOf) {
+        return namedJdbcTemplate.update(SNAPSHOT_SQL, new MapSqlParameterSource()
+                .addValue("after", afterMovementId)
+                .addValue("last", lastMovementId)
+                .addValue("asOf", Timestamp.from(asOf)));
+    }
+
+    @Override
+    public int rebuildStock(Collection<Long> productIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", productIds);
+        namedJdbcTemplate.queryForList(String.format(LOCK_SQL, productIds == null ? "" : "WHERE id IN (:ids)"),
+                params, Long.class);
+        return namedJdbcTemplate.update(String.format(REBUILD_SQL, productIds == null ? "" : "AND p2.id IN (:ids)"),
+                params);
+    }
+}
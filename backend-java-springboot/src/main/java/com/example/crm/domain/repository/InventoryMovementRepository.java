@@ -0,0 +1,23 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.InventoryMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long>, InventoryLedgerRepository {
+
+    Slice<InventoryMovement> findByProductIdAndCreatedAtBetweenOrderByIdDesc(Long productId, Instant from, Instant to,
+                                                                              Pageable pageable);
+
+    @Query("SELECT MAX(m.id) FROM InventoryMovement m WHERE m.createdAt < :before")
+    Long findLastIdBefore(@Param("before") Instant before);
+
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0) FROM InventoryMovement m " +
+           "WHERE m.productId = :productId AND m.id > :afterId AND m.createdAt <= :until")
+    long sumAfter(@Param("productId") Long productId, @Param("afterId") long afterId, @Param("until") Instant until);
+}
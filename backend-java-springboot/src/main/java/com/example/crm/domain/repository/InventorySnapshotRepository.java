@@ -0,0 +1,17 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByProductIdAndAsOfLessThanEqualOrderByAsOfDescIdDesc(Long productId,
+                                                                                              Instant asOf);
+
+    @Query("SELECT COALESCE(MAX(s.lastMovementId), 0) FROM InventorySnapshot s")
+    long findLastCoveredMovementId();
+}
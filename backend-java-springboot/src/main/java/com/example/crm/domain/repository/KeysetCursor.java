@@ -0,0 +1,47 @@
+package com.example.crm.domain.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset (seek) scan: the sort property and direction plus the sort value and id
+ * of the last row already returned. Travels to clients as an opaque URL-safe token.
+ */
+public record KeysetCursor(String sortField, Sort.Direction direction, String value, String id) {
+    private static final String NULL_VALUE = "~";
+
+    public static KeysetCursor first(String sortField, Sort.Direction direction) {
+        return new KeysetCursor(sortField, direction, null, null);
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = String.join("|", sortField, direction.name(),
+                value == null ? NULL_VALUE : base64(value), id == null ? "" : id);
+        return base64(raw);
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = NULL_VALUE.equals(parts[2])
+                    ? null : new String(Base64.getUrlDecoder().decode(parts[2]), StandardCharsets.UTF_8);
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), value,
+                    parts[3].isEmpty() ? null : parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String base64(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.crm.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository base class (see JpaConfig) implementing {@link KeysetRepository} for every entity.
+ */
+public class KeysetJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements KeysetRepository<T, ID> {
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public KeysetJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public KeysetSlice<T> findSlice(KeysetCursor cursor, int size) {
+        String idField = entityInformation.getIdAttribute().getName();
+        SingularAttribute<? super T, ?> sortAttribute = sortAttribute(cursor.sortField());
+        boolean ascending = cursor.direction().isAscending();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(getDomainClass());
+        Root<T> root = query.from(getDomainClass());
+        Path<Comparable> sortPath = root.get(cursor.sortField());
+        Path<Comparable> idPath = root.get(idField);
+
+        if (!cursor.isFirst()) {
+            Comparable id = parse(cursor.id(), entityInformation.getIdType());
+            Predicate afterId = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (cursor.sortField().equals(idField)) {
+                query.where(afterId);
+            } else {
+                query.where(after(cb, sortPath, parse(cursor.value(), sortAttribute.getJavaType()), afterId, ascending));
+            }
+        }
+        query.orderBy(ascending ? cb.asc(sortPath) : cb.desc(sortPath), ascending ? cb.asc(idPath) : cb.desc(idPath));
+
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        Object lastValue = new BeanWrapperImpl(last).getPropertyValue(cursor.sortField());
+        KeysetCursor next = new KeysetCursor(cursor.sortField(), cursor.direction(),
+                lastValue == null ? null : lastValue.toString(), String.valueOf(entityInformation.getId(last)));
+        return new KeysetSlice<>(List.copyOf(content), next);
+    }
+
+    // NULL sort values come first in ascending order and last in descending order, as in MySQL and H2
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder cb, Path<Comparable> sortPath, Comparable value,
+                                   Predicate afterId, boolean ascending) {
+        if (value == null) {
+            Predicate sameValue = cb.and(cb.isNull(sortPath), afterId);
+            return ascending ? cb.or(sameValue, cb.isNotNull(sortPath)) : sameValue;
+        }
+        Predicate beyond = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+        Predicate sameValue = cb.and(cb.equal(sortPath, value), afterId);
+        return ascending ? cb.or(beyond, sameValue) : cb.or(beyond, sameValue, cb.isNull(sortPath));
+    }
+
+    private SingularAttribute<? super T, ?> sortAttribute(String field) {
+        SingularAttribute<? super T, ?> attribute;
+        try {
+            attribute = entityManager.getMetamodel().entity(getDomainClass()).getSingularAttribute(field);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort property: " + field, e);
+        }
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new IllegalArgumentException("Cannot seek on association: " + field);
+        }
+        return attribute;
+    }
+
+    // Cursor values come from the client: a value that does not parse is a bad cursor, not a server error
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparable parse(String value, Class<?> type) {
+        if (value == null || type == String.class) {
+            return value;
+        }
+        try {
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == Instant.class) {
+                return Instant.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class) type, value);
+            }
+        } catch (DateTimeException | IllegalArgumentException e) {
+            // NumberFormatException and unknown enum constants are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Unsupported keyset sort type " + type.getSimpleName());
+    }
+}
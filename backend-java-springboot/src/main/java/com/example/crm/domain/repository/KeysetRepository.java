@@ -0,0 +1,14 @@
+package com.example.crm.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Adds seek pagination to a repository: rows strictly after the cursor position, ordered by
+ * the cursor's sort property and then id, with no OFFSET and no COUNT query.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID> extends JpaRepository<T, ID> {
+
+    KeysetSlice<T> findSlice(KeysetCursor cursor, int size);
+}
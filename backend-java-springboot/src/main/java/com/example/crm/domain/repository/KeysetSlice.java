@@ -0,0 +1,13 @@
+package com.example.crm.domain.repository;
+
+import java.util.List;
+
+/**
+ * One window of a keyset scan; {@code next} is null on the last window.
+ */
+public record KeysetSlice<T>(List<T> content, KeysetCursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record OrderExportRow(
+        Long orderId,
+        LocalDate orderDate,
+        OrderStatus status,
+        Long customerId,
+        BigDecimal totalAmount,
+        Long version,
+        Long lineId,
+        Long productId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal
+) {}
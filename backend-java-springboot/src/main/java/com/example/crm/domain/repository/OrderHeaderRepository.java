@@ -2,15 +2,30 @@ package com.example.crm.domain.repository;
 
 import com.example.crm.domain.model.OrderHeader;
 import com.example.crm.domain.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrderHeaderRepository extends JpaRepository<OrderHeader, Long> {
+public interface OrderHeaderRepository extends KeysetRepository<OrderHeader, Long>, OrderStatusRepository,
+        OrderSearchRepository, JpaSpecificationExecutor<OrderHeader> {
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<OrderHeader> findWithLinesById(Long id);
+
+    @Query("SELECT o FROM OrderHeader o LEFT JOIN FETCH o.lines WHERE o.id IN :ids")
+    List<OrderHeader> findAllWithLinesByIdIn(@Param("ids") Collection<Long> ids);
     
     Page<OrderHeader> findByStatus(OrderStatus status, Pageable pageable);
     
@@ -26,14 +41,25 @@ public interface OrderHeaderRepository extends JpaRepository<OrderHeader, Long>
            "LOWER(CONCAT(c.firstName, ' ', c.lastName)) LIKE LOWER(CONCAT('%', :customerName, '%'))")
     Page<OrderHeader> findByCustomerNameContaining(@Param("customerName") String customerName, Pageable pageable);
     
-    @Query("SELECT o FROM OrderHeader o WHERE " +
+    default Page<OrderHeader> findBySearchCriteria(Long customerId, OrderStatus status, LocalDate startDate,
+                                                   LocalDate endDate, Pageable pageable) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(customerId, status, startDate, endDate, null);
+        return findAll(OrderSpecifications.matching(criteria), pageable);
+    }
+
+    // One row per order line (orders without lines yield a single row with null line columns), ordered so
+    // that the lines of an order are adjacent and can be regrouped while streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.crm.domain.repository.OrderExportRow(o.id, o.orderDate, o.status, " +
+           "o.customer.id, o.totalAmount, o.version, l.id, l.product.id, l.quantity, l.unitPrice, l.lineTotal) " +
+           "FROM OrderHeader o LEFT JOIN o.lines l WHERE " +
            "(:customerId IS NULL OR o.customer.id = :customerId) AND " +
            "(:status IS NULL OR o.status = :status) AND " +
            "(:startDate IS NULL OR o.orderDate >= :startDate) AND " +
-           "(:endDate IS NULL OR o.orderDate <= :endDate)")
-    Page<OrderHeader> findBySearchCriteria(@Param("customerId") Long customerId,
+           "(:endDate IS NULL OR o.orderDate <= :endDate) " +
+           "ORDER BY o.id, l.id")
+    Stream<OrderExportRow> streamForExport(@Param("customerId") Long customerId,
                                            @Param("status") OrderStatus status,
                                            @Param("startDate") LocalDate startDate,
-                                           @Param("endDate") LocalDate endDate,
-                                           Pageable pageable);
+                                           @Param("endDate") LocalDate endDate);
 }
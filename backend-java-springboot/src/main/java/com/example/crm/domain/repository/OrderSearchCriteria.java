@@ -0,0 +1,13 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Order filters; null fields do not restrict the result. Dates are inclusive, the customer name matches
+ * any part of "first last", ignoring case.
+ */
+public record OrderSearchCriteria(Long customerId, OrderStatus status, LocalDate startDate, LocalDate endDate,
+                                  String customerName) {
+}
@@ -0,0 +1,13 @@
+package com.example.crm.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface OrderSearchRepository {
+
+    /**
+     * One query per page: summary rows only, one row beyond the page to detect the next one, no COUNT.
+     * Sortable by id, orderDate, status and totalAmount; id always breaks ties.
+     */
+    Slice<OrderSummary> searchSummaries(OrderSearchCriteria criteria, Pageable pageable);
+}
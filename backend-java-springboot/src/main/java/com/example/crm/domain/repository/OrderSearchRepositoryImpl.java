@@ -0,0 +1,67 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    private static final Set<String> SORTABLE = Set.of("id", "orderDate", "status", "totalAmount");
+
+    private final EntityManager entityManager;
+
+    OrderSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<OrderSummary> searchSummaries(OrderSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<OrderHeader> order = query.from(OrderHeader.class);
+        Join<OrderHeader, Customer> customer = OrderSpecifications.customer(order);
+        query.select(cb.construct(OrderSummary.class, order.get("id"), order.get("orderDate"), order.get("status"),
+                customer.get("firstName"), customer.get("lastName"), order.get("totalAmount")));
+        Predicate where = OrderSpecifications.matching(criteria).toPredicate(order, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(orders(pageable.getSort(), order, cb));
+
+        List<OrderSummary> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private static List<Order> orders(Sort sort, Root<OrderHeader> order, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order sortOrder : sort) {
+            if (!SORTABLE.contains(sortOrder.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort orders by " + sortOrder.getProperty());
+            }
+            if (!sortOrder.getProperty().equals("id")) {
+                orders.add(sortOrder.isAscending()
+                        ? cb.asc(order.get(sortOrder.getProperty())) : cb.desc(order.get(sortOrder.getProperty())));
+            }
+        }
+        Sort.Order byId = sort.getOrderFor("id");
+        orders.add(byId == null || byId.isAscending() ? cb.asc(order.get("id")) : cb.desc(order.get("id")));
+        return orders;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatusEvent;
+
+import java.util.List;
+
+public interface OrderStatusEventBulkRepository {
+
+    /**
+     * Inserts the events with JDBC batches. Generated ids are not read back.
+     */
+    void insertAll(List<OrderStatusEvent> events);
+}
@@ -0,0 +1,32 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatusEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+class OrderStatusEventBulkRepositoryImpl implements OrderStatusEventBulkRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO order_status_events (order_id, from_status, to_status, version, changed_by, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderStatusEventBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<OrderStatusEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, 500, (ps, event) -> {
+            ps.setLong(1, event.getOrderId());
+            ps.setString(2, event.getFromStatus() == null ? null : event.getFromStatus().name());
+            ps.setString(3, event.getToStatus().name());
+            ps.setObject(4, event.getVersion(), Types.BIGINT);
+            ps.setString(5, event.getChangedBy());
+            ps.setTimestamp(6, Timestamp.from(event.getChangedAt()));
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.OrderStatusEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OrderStatusEventRepository extends JpaRepository<OrderStatusEvent, Long>,
+        OrderStatusEventBulkRepository {
+
+    // The lower bound on changed_at lets MySQL skip the partitions before the order existed
+    List<OrderStatusEvent> findByOrderIdAndChangedAtGreaterThanEqualOrderByChangedAtAscIdAsc(Long orderId,
+                                                                                            Instant since);
+
+    Slice<OrderStatusEvent> findByToStatusAndChangedAtGreaterThanEqualAndChangedAtLessThanOrderByChangedAtAscIdAsc(
+            OrderStatus toStatus, Instant from, Instant to, Pageable pageable);
+}
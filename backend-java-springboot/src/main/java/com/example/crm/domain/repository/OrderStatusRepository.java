@@ -0,0 +1,22 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface OrderStatusRepository {
+
+    /**
+     * Reads and row-locks the status and version of the given orders, in id order so that
+     * concurrent bulk transitions cannot deadlock. Missing ids are absent from the result.
+     */
+    Map<Long, OrderStatusRow> lockStatuses(Collection<Long> ids);
+
+    /**
+     * Moves all given orders to {@code status} in one statement and bumps their version, so stale
+     * optimistic updates of those orders fail. Callers validate the transitions under the locks
+     * taken by {@link #lockStatuses}.
+     */
+    int updateStatus(Collection<Long> ids, OrderStatus status);
+}
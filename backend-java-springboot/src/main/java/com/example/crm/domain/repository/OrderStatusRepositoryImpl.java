@@ -0,0 +1,52 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class OrderStatusRepositoryImpl implements OrderStatusRepository {
+    private static final String LOCK_SQL =
+            "SELECT id, status, version FROM order_headers WHERE id IN (%s) ORDER BY id FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE order_headers SET status = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderStatusRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, OrderStatusRow> lockStatuses(Collection<Long> ids) {
+        Map<Long, OrderStatusRow> rows = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        jdbcTemplate.query(LOCK_SQL.formatted(placeholders(ids.size())), rs -> {
+            long id = rs.getLong("id");
+            rows.put(id, new OrderStatusRow(id, OrderStatus.valueOf(rs.getString("status")), rs.getLong("version")));
+        }, ids.toArray());
+        return rows;
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, OrderStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(status.name());
+        args.addAll(ids);
+        return jdbcTemplate.update(UPDATE_SQL.formatted(placeholders(ids.size())), args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+
+public record OrderStatusRow(Long id, OrderStatus status, Long version) {}
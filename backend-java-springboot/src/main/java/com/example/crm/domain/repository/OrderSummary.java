@@ -0,0 +1,25 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Search result row built by a constructor expression: no order entity, lines or customer entity are loaded.
+ */
+public record OrderSummary(Long id, LocalDate orderDate, OrderStatus status, String customerName,
+                           BigDecimal totalAmount) {
+
+    public OrderSummary(Long id, LocalDate orderDate, OrderStatus status, String firstName, String lastName,
+                        BigDecimal totalAmount) {
+        this(id, orderDate, status, name(firstName, lastName), totalAmount);
+    }
+
+    private static String name(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+class OutboxBulkRepositoryImpl implements OutboxBulkRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at, attempts) " +
+            "VALUES (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, 500, (ps, event) -> {
+            ps.setString(1, event.getAggregateType());
+            ps.setLong(2, event.getAggregateId());
+            ps.setString(3, event.getEventType());
+            ps.setString(4, event.getPayload());
+            ps.setTimestamp(5, Timestamp.from(event.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxBulkRepository {
+
+    /**
+     * Locks the oldest pending events. Rows locked by another dispatcher instance are skipped
+     * instead of waited on, so several instances drain the table without blocking each other.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL AND attempts < :maxAttempts " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    /**
+     * Locks every undelivered event of the given types, waiting for a dispatcher that holds one of
+     * them. Until the caller commits, {@link #claimPending} skips the locked rows.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL AND aggregate_type = :aggregateType " +
+            "AND event_type IN (:eventTypes) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<OutboxEvent> lockPending(@Param("aggregateType") String aggregateType,
+                                  @Param("eventTypes") Collection<String> eventTypes);
+
+    long countByPublishedAtIsNull();
+
+    long countByPublishedAtIsNullAndAttemptsGreaterThanEqual(int attempts);
+
+    Optional<OutboxEvent> findFirstByPublishedAtIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,37 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.id.IdAllocator;
+import com.example.crm.domain.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+class ProductBulkRepositoryImpl implements ProductBulkRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO products (id, sku, name, description, price, stock_quantity, active, subcategory_id, version, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator ids;
+
+    ProductBulkRepositoryImpl(JdbcTemplate jdbcTemplate, IdAllocator ids) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ids = ids;
+    }
+
+    @Override
+    public void insertAll(List<Product> products) {
+        products.forEach(product -> product.setId(ids.next("products")));
+        jdbcTemplate.batchUpdate(INSERT_SQL, products, products.size(), (ps, product) -> {
+            ps.setLong(1, product.getId());
+            ps.setString(2, product.getSku());
+            ps.setString(3, product.getName());
+            ps.setString(4, product.getDescription());
+            ps.setBigDecimal(5, product.getPrice());
+            ps.setObject(6, product.getStockQuantity(), Types.INTEGER);
+            ps.setObject(7, product.getActive(), Types.BOOLEAN);
+            ps.setObject(8, product.getSubCategory() == null ? null : product.getSubCategory().getId(), Types.BIGINT);
+        });
+    }
+}
@@ -1,18 +1,37 @@
 package com.example.crm.domain.repository;
 
 import com.example.crm.domain.model.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends KeysetRepository<Product, Long>, ProductStockRepository,
+        ProductBulkRepository {
     boolean existsBySku(String sku);
     boolean existsBySubCategoryId(Long subCategoryId);
     List<Product> findBySubCategoryId(Long subCategoryId);
+
+    // Holds the row until commit so the stock read here cannot change before the ledger records the delta
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findForUpdate(@Param("id") Long id);
+
+    Slice<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT LOWER(p.sku) FROM Product p WHERE p.sku IS NOT NULL")
+    List<String> findAllSkusLowerCase();
     
     @Query("SELECT p FROM Product p WHERE " +
            "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -28,9 +47,31 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
            "LOWER(c.name) LIKE LOWER(CONCAT('%', :categoryName, '%'))")
     Page<Product> findByCategoryNameContaining(@Param("categoryName") String categoryName, Pageable pageable);
     
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= :threshold")
-    List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
+    @Query("SELECT new com.example.crm.domain.repository.StockLevel(p.id, p.sku, p.name, p.stockQuantity, " +
+           "COALESCE(p.lowStockThreshold, c.lowStockThreshold, :defaultThreshold), p.active) " +
+           "FROM Product p LEFT JOIN p.subCategory s LEFT JOIN s.category c " +
+           "WHERE (p.active IS NULL OR p.active = true) AND " +
+           "p.stockQuantity <= COALESCE(p.lowStockThreshold, c.lowStockThreshold, :defaultThreshold)")
+    List<StockLevel> findLowStockProducts(@Param("defaultThreshold") int defaultThreshold);
+
+    @Query("SELECT new com.example.crm.domain.repository.StockLevel(p.id, p.sku, p.name, p.stockQuantity, " +
+           "COALESCE(p.lowStockThreshold, c.lowStockThreshold, :defaultThreshold), p.active) " +
+           "FROM Product p LEFT JOIN p.subCategory s LEFT JOIN s.category c WHERE p.id IN :ids")
+    List<StockLevel> findStockLevels(@Param("ids") Collection<Long> ids, @Param("defaultThreshold") int defaultThreshold);
     
     @Query("SELECT p FROM Product p WHERE p.active = true")
     Page<Product> findActiveProducts(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM Product p WHERE " +
+           "(:searchTerm IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+           "(:subCategoryId IS NULL OR p.subCategory.id = :subCategoryId) AND " +
+           "(:active IS NULL OR p.active = :active) " +
+           "ORDER BY p.id")
+    Stream<Product> streamForExport(@Param("searchTerm") String searchTerm,
+                                    @Param("subCategoryId") Long subCategoryId,
+                                    @Param("active") Boolean active);
 }
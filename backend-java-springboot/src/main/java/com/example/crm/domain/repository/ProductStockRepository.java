@@ -0,0 +1,16 @@
+package com.example.crm.domain.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockRepository {
+
+    /**
+     * Atomically decrements stock for each product, only where enough stock is left.
+     * Returns the ids of the products whose stock could not cover the requested quantity.
+     * Must run inside a transaction.
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantities);
+
+    void incrementStock(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,101 @@
+package com.example.crm.domain.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class ProductStockRepositoryImpl implements ProductStockRepository {
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND stock_quantity >= ? AND (active IS NULL OR active = TRUE)";
+    private static final String INCREMENT_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // A driver that rewrites batches (e.g. MySQL with rewriteBatchedStatements) may answer SUCCESS_NO_INFO,
+    // which does not say whether the stock condition matched. Such a batch is rolled back to a savepoint
+    // and replayed row by row, where every update reports its count.
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> rows = sortedById(quantities);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            int[] counts = batchDecrement(rows);
+            if (Arrays.stream(counts).noneMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                connection.releaseSavepoint(savepoint);
+                return rejected(rows, counts);
+            }
+            connection.rollback(savepoint);
+            int[] rowCounts = rows.stream()
+                    .mapToInt(row -> jdbcTemplate.update(DECREMENT_SQL, row.getValue(), row.getKey(), row.getValue()))
+                    .toArray();
+            return rejected(rows, rowCounts);
+        });
+    }
+
+    private int[] batchDecrement(List<Map.Entry<Long, Integer>> rows) {
+        return jdbcTemplate.batchUpdate(DECREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> row = rows.get(i);
+                ps.setInt(1, row.getValue());
+                ps.setLong(2, row.getKey());
+                ps.setInt(3, row.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static List<Long> rejected(List<Map.Entry<Long, Integer>> rows, int[] counts) {
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(rows.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public void incrementStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> rows = sortedById(quantities);
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> row = rows.get(i);
+                ps.setInt(1, row.getValue());
+                ps.setLong(2, row.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    // Rows are always locked in id order so concurrent orders cannot deadlock each other
+    private static List<Map.Entry<Long, Integer>> sortedById(Map<Long, Integer> quantities) {
+        return new ArrayList<>(new TreeMap<>(quantities).entrySet());
+    }
+}
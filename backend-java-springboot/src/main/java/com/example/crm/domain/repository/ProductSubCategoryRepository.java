@@ -2,8 +2,12 @@ package com.example.crm.domain.repository;
 
 import com.example.crm.domain.model.ProductSubCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ProductSubCategoryRepository extends JpaRepository<ProductSubCategory, Long> {
     boolean existsByCategoryId(Long categoryId);
     java.util.List<ProductSubCategory> findByCategoryId(Long categoryId);
+
+    @Query("SELECT s.id FROM ProductSubCategory s")
+    java.util.List<Long> findAllIds();
 }
@@ -0,0 +1,26 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.SalesDailyAggregate;
+import com.example.crm.domain.model.SalesDimension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAggregateRepository extends JpaRepository<SalesDailyAggregate, Long>, SalesAggregateWriter {
+
+    List<SalesDailyAggregate> findByDimensionAndDimensionIdAndBucketDateBetweenOrderByBucketDate(
+            SalesDimension dimension, Long dimensionId, LocalDate from, LocalDate to);
+
+    @Query("SELECT new com.example.crm.domain.repository.SalesTotals(a.dimensionId, SUM(a.revenue), " +
+           "SUM(a.orderCount), SUM(a.units)) FROM SalesDailyAggregate a " +
+           "WHERE a.dimension = :dimension AND a.bucketDate BETWEEN :from AND :to " +
+           "GROUP BY a.dimensionId ORDER BY SUM(a.revenue) DESC, a.dimensionId")
+    List<SalesTotals> findTopByRevenue(@Param("dimension") SalesDimension dimension,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.example.crm.domain.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SalesAggregateWriter {
+
+    /** Adds each delta to its bucket, creating the bucket if needed. */
+    void apply(List<SalesDelta> deltas);
+
+    /** Product id to category id for the given products; products without a category are absent. */
+    Map<Long, Long> findCategoryIds(Collection<Long> productIds);
+
+    /**
+     * Recomputes every bucket in the date range from the order tables, ignoring cancelled orders.
+     * Returns the number of buckets written.
+     */
+    int rebuild(LocalDate from, LocalDate to);
+}
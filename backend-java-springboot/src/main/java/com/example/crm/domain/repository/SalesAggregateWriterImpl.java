@@ -0,0 +1,92 @@
+package com.example.crm.domain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SalesAggregateWriterImpl implements SalesAggregateWriter {
+    private static final String UPSERT_SQL =
+            "INSERT INTO sales_daily_aggregates (dimension, dimension_id, bucket_date, revenue, order_count, units) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), " +
+            "order_count = order_count + VALUES(order_count), units = units + VALUES(units)";
+
+    private static final String CATEGORY_SQL =
+            "SELECT p.id, s.category_id FROM products p JOIN product_subcategories s ON s.id = p.subcategory_id " +
+            "WHERE p.id IN (:ids)";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM sales_daily_aggregates WHERE bucket_date BETWEEN ? AND ?";
+
+    // Every statement groups order lines of non-cancelled orders in the range; only the dimension differs
+    private static final String REBUILD_SQL =
+            "INSERT INTO sales_daily_aggregates (dimension, dimension_id, bucket_date, revenue, order_count, units) " +
+            "SELECT '%s', %s, o.order_date, SUM(l.line_total), COUNT(DISTINCT o.id), SUM(l.quantity) " +
+            "FROM order_headers o JOIN order_lines l ON l.order_id = o.id %s " +
+            "WHERE o.order_date BETWEEN ? AND ? AND o.status <> 'CANCELLED' %s " +
+            "GROUP BY %s o.order_date";
+
+    private static final List<String> REBUILD_STATEMENTS = List.of(
+            String.format(REBUILD_SQL, "TOTAL", "0", "", "", ""),
+            String.format(REBUILD_SQL, "CUSTOMER", "o.customer_id", "", "AND o.customer_id IS NOT NULL", "o.customer_id,"),
+            String.format(REBUILD_SQL, "PRODUCT", "l.product_id", "", "AND l.product_id IS NOT NULL", "l.product_id,"),
+            String.format(REBUILD_SQL, "CATEGORY", "s.category_id",
+                    "JOIN products p ON p.id = l.product_id JOIN product_subcategories s ON s.id = p.subcategory_id",
+                    "", "s.category_id,"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    SalesAggregateWriterImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void apply(List<SalesDelta> deltas) {
+        // Buckets are always touched in the same order so concurrent orders cannot deadlock
+        List<SalesDelta> sorted = deltas.stream()
+                .sorted(Comparator.comparing(SalesDelta::dimension)
+                        .thenComparing(SalesDelta::dimensionId)
+                        .thenComparing(SalesDelta::date))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, sorted, sorted.size(), (ps, delta) -> {
+            ps.setString(1, delta.dimension().name());
+            ps.setLong(2, delta.dimensionId());
+            ps.setDate(3, Date.valueOf(delta.date()));
+            ps.setBigDecimal(4, delta.revenue());
+            ps.setLong(5, delta.orders());
+            ps.setLong(6, delta.units());
+        });
+    }
+
+    @Override
+    public Map<Long, Long> findCategoryIds(Collection<Long> productIds) {
+        Map<Long, Long> categoryIds = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return categoryIds;
+        }
+        namedJdbcTemplate.query(CATEGORY_SQL, new MapSqlParameterSource("ids", productIds),
+                rs -> { categoryIds.put(rs.getLong(1), rs.getLong(2)); });
+        return categoryIds;
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        Date start = Date.valueOf(from);
+        Date end = Date.valueOf(to);
+        jdbcTemplate.update(DELETE_RANGE_SQL, start, end);
+        int buckets = 0;
+        for (String sql : REBUILD_STATEMENTS) {
+            buckets += jdbcTemplate.update(sql, start, end);
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.SalesDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Amounts to add to (or, when negative, subtract from) one daily aggregate bucket.
+ */
+public record SalesDelta(SalesDimension dimension, long dimensionId, LocalDate date,
+                         BigDecimal revenue, long orders, long units) {}
@@ -0,0 +1,5 @@
+package com.example.crm.domain.repository;
+
+import java.math.BigDecimal;
+
+public record SalesTotals(Long dimensionId, BigDecimal revenue, Long orders, Long units) {}
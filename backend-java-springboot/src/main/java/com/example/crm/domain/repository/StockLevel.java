@@ -0,0 +1,9 @@
+package com.example.crm.domain.repository;
+
+/** Stock of a product against its effective low-stock threshold (product, else category, else default). */
+public record StockLevel(Long productId, String sku, String name, Integer stock, Integer threshold, Boolean active) {
+
+    public boolean low() {
+        return !Boolean.FALSE.equals(active) && stock != null && stock <= threshold;
+    }
+}
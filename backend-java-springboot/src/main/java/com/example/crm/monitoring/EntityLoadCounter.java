@@ -0,0 +1,23 @@
+package com.example.crm.monitoring;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the entities Hibernate hydrates on the current thread, whether from a query, a lazy
+ * association or the second-level cache. Together with {@link SqlStatementCounter} it shows
+ * requests that load far more rows than they return.
+ */
+public class EntityLoadCounter implements Interceptor {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNT.get()[0]++;
+        return false;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.crm.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Sees every JDBC statement of the proxied data source (Hibernate and JdbcTemplate alike). Statements are
+ * normalized and counted in the current {@link #begin() scope}; those slower than the threshold are logged
+ * with their bound parameters. At DEBUG every statement is logged, which replaces {@code show-sql}.
+ */
+public class QueryInspector implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInspector.class);
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final int MAX_LOGGED_BATCH_ROWS = 3;
+
+    private final long slowThresholdMillis;
+    private final int repeatThreshold;
+    private final Counter slowQueries;
+
+    public QueryInspector(Duration slowThreshold, int repeatThreshold, MeterRegistry registry) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.repeatThreshold = repeatThreshold;
+        this.slowQueries = Counter.builder("crm.queries.slow")
+                .description("JDBC statements slower than crm.queries.slow-threshold")
+                .register(registry);
+    }
+
+    /** Starts counting the statements of this thread; pair with {@link #end(QueryStats)} in a finally block. */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end(QueryStats stats) {
+        if (stats.parent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent());
+        }
+    }
+
+    public int repeatThreshold() {
+        return repeatThreshold;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        QueryStats stats = CURRENT.get();
+        for (QueryInfo query : queryInfoList) {
+            String normalized = normalize(query.getQuery());
+            if (stats != null) {
+                stats.record(normalized, elapsed);
+            }
+            if (elapsed >= slowThresholdMillis) {
+                slowQueries.increment();
+                log.warn("Slow query ({} ms{}): {} | params: {}", elapsed, execInfo.isBatch()
+                        ? ", batch of " + execInfo.getBatchSize() : "", normalized, parameters(query));
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} ms: {} | params: {}", elapsed, normalized, parameters(query));
+            }
+        }
+    }
+
+    /** Collapses whitespace, literals and IN/VALUES lists so that statements differing only in values compare equal. */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?)");
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static String parameters(QueryInfo query) {
+        List<List<ParameterSetOperation>> rows = query.getParametersList();
+        String logged = rows.stream()
+                .limit(MAX_LOGGED_BATCH_ROWS)
+                .map(row -> row.stream()
+                        .map(QueryInspector::parameter)
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(" "));
+        return rows.size() > MAX_LOGGED_BATCH_ROWS
+                ? logged + " ... " + (rows.size() - MAX_LOGGED_BATCH_ROWS) + " more rows"
+                : logged;
+    }
+
+    private static String parameter(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if ("setNull".equals(operation.getMethod().getName()) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        String value = String.valueOf(args[1]);
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+}
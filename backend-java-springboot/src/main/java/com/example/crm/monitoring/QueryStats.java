@@ -0,0 +1,67 @@
+package com.example.crm.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements executed inside one {@link QueryInspector#begin() scope}, keyed by normalized SQL.
+ * A statement executed in a nested scope is counted in the enclosing scopes as well.
+ */
+public class QueryStats {
+
+    /** Request attribute under which {@link RequestMetricsFilter} exposes the stats of an API request. */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private final QueryStats parent;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private long total;
+    private long elapsedMillis;
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    void record(String normalizedSql, long elapsed) {
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.executions.merge(normalizedSql, 1, Integer::sum);
+            stats.total++;
+            stats.elapsedMillis += elapsed;
+        }
+    }
+
+    QueryStats parent() {
+        return parent;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Map<String, Integer> executions() {
+        return Map.copyOf(executions);
+    }
+
+    /** Statements executed at least {@code threshold} times, the usual signature of an N+1 load. */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder()
+                .append(total).append(" statements in ").append(elapsedMillis).append(" ms");
+        executions.forEach((sql, count) -> text.append(System.lineSeparator())
+                .append("  ").append(count).append("x ").append(sql));
+        return text.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.crm.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the JDBC statements and entity loads of each API request, tagged like
+ * {@code http.server.requests} by method and URI template, and warns when the same statement
+ * runs {@link QueryInspector#repeatThreshold()} times or more (an N+1 load). Async requests
+ * (streaming exports) continue on another thread and are skipped.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final int repeatThreshold;
+
+    public RequestMetricsFilter(MeterRegistry registry, QueryInspector inspector) {
+        this.registry = registry;
+        this.repeatThreshold = inspector.repeatThreshold();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryInspector.begin();
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+        long loads = EntityLoadCounter.current();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryInspector.end(stats);
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+                summary("http.server.requests.sql.statements", request, uri).record(stats.total());
+                summary("http.server.requests.entity.loads", request, uri)
+                        .record(EntityLoadCounter.current() - loads);
+                reportRepeated(stats, request, uri);
+            }
+        }
+    }
+
+    private void reportRepeated(QueryStats stats, HttpServletRequest request, String uri) {
+        Map<String, Integer> repeated = stats.repeated(repeatThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("http.server.requests.repeated.queries")
+                .description("Requests that ran the same statement crm.queries.repeat-threshold times or more")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .increment();
+        repeated.forEach((sql, count) ->
+                log.warn("Possible N+1 in {} {}: {} executions of {}", request.getMethod(), uri, count, sql));
+    }
+
+    private DistributionSummary summary(String name, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.crm.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads are enabled. A pinned
+ * virtual thread blocks its carrier, typically inside a synchronized block of the JDBC driver or
+ * pool, so these are counted per source and logged with the frame that pinned.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${crm.threads.pinning.threshold:20ms}") Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {}", threshold);
+    }
+
+    void record(RecordedEvent event) {
+        String source = source(event);
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+        Timer.builder("jvm.threads.virtual.pinned.duration")
+                .tag("source", source)
+                .register(registry)
+                .record(event.getDuration());
+        if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned for {} ms ({}):\n{}", event.getDuration().toMillis(), source,
+                    event.getStackTrace());
+        }
+    }
+
+    // Attributes the pin to the innermost library we can do something about
+    private static String source(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.mysql.")) {
+                return "jdbc-driver";
+            }
+            if (type.startsWith("com.zaxxer.hikari.")) {
+                return "connection-pool";
+            }
+            if (type.startsWith("org.hibernate.")) {
+                return "hibernate";
+            }
+            if (type.startsWith("com.example.")) {
+                return "application";
+            }
+        }
+        return "other";
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
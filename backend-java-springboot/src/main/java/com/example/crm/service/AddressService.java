@@ -1,8 +1,11 @@
 package com.example.crm.service;
 
 import com.example.crm.domain.model.Address;
+import com.example.crm.domain.repository.KeysetCursor;
+import com.example.crm.domain.repository.KeysetSlice;
 import com.example.crm.domain.repository.AddressRepository;
 import com.example.crm.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -10,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 @Service
+@Timed("crm.service")
 @Transactional
 public class AddressService {
     private final AddressRepository repository;
@@ -23,6 +27,11 @@ public class AddressService {
         return repository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<Address> scroll(KeysetCursor cursor, int size) {
+        return repository.findSlice(cursor, size);
+    }
+
     @Transactional(readOnly = true)
     public java.util.List<Address> findAll() {
         return repository.findAll();
@@ -67,8 +76,9 @@ public class AddressService {
         return repository.save(address);
     }
 
-    public Address update(Long id, Address updated) {
+    public Address update(Long id, Address updated, Long ifMatchVersion) {
         Address existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         existing.setStreet(updated.getStreet());
         existing.setCity(updated.getCity());
         existing.setState(updated.getState());
@@ -76,8 +86,9 @@ public class AddressService {
         return repository.save(existing);
     }
 
-    public void delete(Long id) {
+    public void delete(Long id, Long ifMatchVersion) {
         Address address = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, address.getVersion());
         repository.delete(address);
     }
 }
@@ -0,0 +1,332 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.Address;
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.model.MovementReason;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.model.ProductSubCategory;
+import com.example.crm.domain.repository.AddressRepository;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.domain.repository.ProductSubCategoryRepository;
+import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.inventory.InventoryLedger;
+import com.example.crm.service.search.CustomersImportedEvent;
+import com.example.crm.service.search.ProductsImportedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Loads large product and customer files in the background. Uniqueness and references are checked
+ * against key sets loaded once per job instead of one probe per row, and valid rows are written with
+ * JDBC batch inserts, one transaction per batch. Finished jobs stay queryable for
+ * {@code crm.import.retention} and are then dropped together with their error lists.
+ */
+@Service
+public class BulkImportService {
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductSubCategoryRepository subCategoryRepository;
+    private final AddressRepository addressRepository;
+    private final InventoryLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Cache<String, ImportJob> jobs;
+
+    public BulkImportService(ProductRepository productRepository, CustomerRepository customerRepository,
+                             ProductSubCategoryRepository subCategoryRepository, AddressRepository addressRepository,
+                             InventoryLedger ledger, PlatformTransactionManager transactionManager,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor,
+                             ApplicationEventPublisher events, ObjectMapper objectMapper,
+                             @Value("${crm.import.batch-size:1000}") int batchSize,
+                             @Value("${crm.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${crm.import.retention:24h}") Duration retention) {
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.addressRepository = addressRepository;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.events = events;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.jobs = Caffeine.newBuilder().expireAfter(new FinishedJobExpiry(retention)).build();
+    }
+
+    /**
+     * Spools the upload to a temporary file so the request can finish, then imports it in the background.
+     */
+    public ImportJob submit(ImportJob.Type type, ImportJob.Format format, InputStream body) throws IOException {
+        Path file = Files.createTempFile("crm-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, format, maxReportedErrors);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, file));
+        return job;
+    }
+
+    public ImportJob findJob(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + id);
+        }
+        return job;
+    }
+
+    public List<ImportJob> findJobs() {
+        return jobs.asMap().values().stream()
+                .sorted(Comparator.comparing(ImportJob::getStartedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    void run(ImportJob job, Path file) {
+        job.start();
+        try (ImportRowReader reader = ImportRowReader.open(file, job.getFormat(), objectMapper)) {
+            if (job.getType() == ImportJob.Type.PRODUCTS) {
+                importProducts(job, reader);
+            } else {
+                importCustomers(job, reader);
+            }
+            job.complete();
+            log.info("Import {} of {}: {} rows, {} inserted, {} failed, {} rows/s", job.getId(), job.getType(),
+                    job.getRowsRead(), job.getInserted(), job.getFailed(), Math.round(job.getRowsPerSecond()));
+        } catch (Exception e) {
+            log.error("Import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            // Written again now that it has finished, which starts its retention window
+            jobs.put(job.getId(), job);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void importProducts(ImportJob job, ImportRowReader reader) throws IOException {
+        Set<String> skus = new HashSet<>(productRepository.findAllSkusLowerCase());
+        Set<Long> subCategoryIds = new HashSet<>(subCategoryRepository.findAllIds());
+        importRows(job, reader, fields -> toProduct(fields, skus, subCategoryIds), this::insertProducts);
+        if (job.getInserted() > 0) {
+            events.publishEvent(new ProductsImportedEvent(job.getInserted()));
+        }
+    }
+
+    // Opening stock goes into the ledger in the same batch transaction as the rows
+    private void insertProducts(List<Product> products) {
+        productRepository.insertAll(products);
+        ledger.record(products.stream()
+                .filter(product -> product.getStockQuantity() != null && product.getStockQuantity() != 0)
+                .map(product -> new InventoryMovement(product.getId(), product.getStockQuantity(),
+                        MovementReason.INITIAL, null))
+                .toList());
+    }
+
+    private void importCustomers(ImportJob job, ImportRowReader reader) throws IOException {
+        Set<String> emails = new HashSet<>(customerRepository.findAllEmailsLowerCase());
+        Set<Long> addressIds = new HashSet<>(addressRepository.findAllIds());
+        importRows(job, reader, fields -> toCustomer(fields, emails, addressIds), customerRepository::insertAll);
+        if (job.getInserted() > 0) {
+            events.publishEvent(new CustomersImportedEvent(job.getInserted()));
+        }
+    }
+
+    private <T> void importRows(ImportJob job, ImportRowReader reader, Function<Map<String, String>, T> convert,
+                                Consumer<List<T>> insert) throws IOException {
+        List<T> batch = new ArrayList<>(batchSize);
+        List<Long> rows = new ArrayList<>(batchSize);
+        while (true) {
+            Map<String, String> fields;
+            try {
+                fields = reader.next();
+            } catch (IllegalArgumentException e) {
+                job.rowRead();
+                job.rowFailed(reader.row(), e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            job.rowRead();
+            try {
+                batch.add(convert.apply(fields));
+                rows.add(reader.row());
+            } catch (IllegalArgumentException e) {
+                job.rowFailed(reader.row(), e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                flush(job, batch, rows, insert);
+            }
+        }
+        flush(job, batch, rows, insert);
+    }
+
+    private <T> void flush(ImportJob job, List<T> batch, List<Long> rows, Consumer<List<T>> insert) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.accept(batch));
+            job.inserted(batch.size());
+        } catch (DataAccessException e) {
+            // Something the key sets could not catch, e.g. a concurrent insert: retry row by row to find it
+            for (int i = 0; i < batch.size(); i++) {
+                List<T> single = List.of(batch.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert.accept(single));
+                    job.inserted(1);
+                } catch (DataAccessException rowFailure) {
+                    job.rowFailed(rows.get(i), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        batch.clear();
+        rows.clear();
+    }
+
+    // Queued and running jobs never expire; finished ones expire a retention window after they finish
+    private record FinishedJobExpiry(Duration retention) implements Expiry<String, ImportJob> {
+
+        @Override
+        public long expireAfterCreate(String id, ImportJob job, long currentTime) {
+            return job.getFinishedAt() == null ? Long.MAX_VALUE : retention.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, ImportJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, ImportJob job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static Product toProduct(Map<String, String> fields, Set<String> skus, Set<Long> subCategoryIds) {
+        Product product = new Product();
+        product.setSku(required(fields, "sku"));
+        product.setName(required(fields, "name"));
+        product.setDescription(fields.get("description"));
+        product.setPrice(decimal(fields, "price"));
+        product.setStockQuantity(integer(fields, "stockQuantity"));
+        String active = fields.get("active");
+        product.setActive(active == null || Boolean.parseBoolean(active.trim()));
+        Long subCategoryId = longValue(fields, "subCategoryId");
+        if (subCategoryId != null) {
+            if (!subCategoryIds.contains(subCategoryId)) {
+                throw new IllegalArgumentException("Unknown subCategoryId: " + subCategoryId);
+            }
+            ProductSubCategory subCategory = new ProductSubCategory();
+            subCategory.setId(subCategoryId);
+            product.setSubCategory(subCategory);
+        }
+        ProductService.validate(product);
+        if (!skus.add(product.getSku().toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("SKU already exists: " + product.getSku());
+        }
+        return product;
+    }
+
+    private static Customer toCustomer(Map<String, String> fields, Set<String> emails, Set<Long> addressIds) {
+        Customer customer = new Customer();
+        customer.setFirstName(required(fields, "firstName"));
+        customer.setLastName(required(fields, "lastName"));
+        customer.setEmail(required(fields, "email"));
+        if (!EMAIL.matcher(customer.getEmail()).matches()) {
+            throw new IllegalArgumentException("Invalid email: " + customer.getEmail());
+        }
+        Long addressId = longValue(fields, "addressId");
+        if (addressId != null) {
+            if (!addressIds.contains(addressId)) {
+                throw new IllegalArgumentException("Unknown addressId: " + addressId);
+            }
+            Address address = new Address();
+            address.setId(addressId);
+            customer.setAddress(address);
+        }
+        if (!emails.add(customer.getEmail().toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
+        }
+        return customer;
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value.trim();
+    }
+
+    private static BigDecimal decimal(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        try {
+            return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        try {
+            return value == null || value.isBlank() ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Long longValue(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        try {
+            return value == null || value.isBlank() ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -2,23 +2,44 @@ package com.example.crm.service;
 
 import com.example.crm.domain.model.Customer;
 import com.example.crm.domain.model.Address;
+import com.example.crm.domain.repository.KeysetCursor;
+import com.example.crm.domain.repository.KeysetSlice;
 import com.example.crm.domain.repository.CustomerRepository;
 import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.search.CustomerChangedEvent;
+import com.example.crm.service.search.CustomerLookupIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
+@Timed("crm.service")
 @Transactional
 public class CustomerService {
     private final CustomerRepository repository;
     private final AddressService addressService;
+    private final CustomerLookupIndex lookupIndex;
+    private final ApplicationEventPublisher events;
 
-    public CustomerService(CustomerRepository repository, AddressService addressService) {
+    public CustomerService(CustomerRepository repository, AddressService addressService,
+                           CustomerLookupIndex lookupIndex, ApplicationEventPublisher events) {
         this.repository = repository;
         this.addressService = addressService;
+        this.lookupIndex = lookupIndex;
+        this.events = events;
     }
 
     @Transactional(readOnly = true)
@@ -26,6 +47,11 @@ public class CustomerService {
         return repository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<Customer> scroll(KeysetCursor cursor, int size) {
+        return repository.findSlice(cursor, size);
+    }
+
     @Transactional(readOnly = true)
     public Customer findById(Long id) {
         return repository.findById(id)
@@ -42,6 +68,9 @@ public class CustomerService {
         
         // If general search term is provided, use it
         if (StringUtils.hasText(searchTerm)) {
+            if (lookupIndex.supports(searchTerm, pageable.getSort())) {
+                return pageFromIndex(lookupIndex.search(searchTerm, false, pageable.getSort()), pageable);
+            }
             return repository.findBySearchTerm(searchTerm.trim(), pageable);
         }
         
@@ -51,6 +80,9 @@ public class CustomerService {
         }
         
         if (StringUtils.hasText(name)) {
+            if (lookupIndex.supports(name, pageable.getSort())) {
+                return pageFromIndex(lookupIndex.search(name, true, pageable.getSort()), pageable);
+            }
             return repository.findByFullNameContaining(name.trim(), pageable);
         }
         
@@ -61,6 +93,15 @@ public class CustomerService {
         return findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public List<Customer> lookup(String term, int limit) {
+        Sort sort = Sort.by("lastName", "firstName");
+        if (lookupIndex.supports(term, sort)) {
+            return pageFromIndex(lookupIndex.search(term, false, sort), PageRequest.of(0, limit)).getContent();
+        }
+        return repository.findBySearchTerm(term.trim(), PageRequest.of(0, limit, sort)).getContent();
+    }
+
     public Customer create(Customer customer) {
         // Validate email uniqueness
         if (StringUtils.hasText(customer.getEmail()) && 
@@ -73,11 +114,14 @@ public class CustomerService {
             addressService.findById(customer.getAddress().getId());
         }
         
-        return repository.save(customer);
+        Customer saved = repository.save(customer);
+        events.publishEvent(CustomerChangedEvent.saved(saved));
+        return saved;
     }
 
-    public Customer update(Long id, Customer updated) {
+    public Customer update(Long id, Customer updated, Long ifMatchVersion) {
         Customer existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         
         // Validate email uniqueness if changed
         if (StringUtils.hasText(updated.getEmail()) && 
@@ -95,11 +139,26 @@ public class CustomerService {
         existing.setLastName(updated.getLastName());
         existing.setEmail(updated.getEmail());
         existing.setAddress(updated.getAddress());
-        return repository.save(existing);
+        Customer saved = repository.save(existing);
+        events.publishEvent(CustomerChangedEvent.saved(saved));
+        return saved;
     }
 
-    public void delete(Long id) {
+    public void delete(Long id, Long ifMatchVersion) {
         Customer customer = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, customer.getVersion());
         repository.delete(customer);
+        events.publishEvent(CustomerChangedEvent.deleted(id));
+    }
+
+    // The index already holds every match in order, so only the requested page is loaded
+    private Page<Customer> pageFromIndex(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        Map<Long, Customer> byId = repository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        List<Customer> content = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, ids.size());
     }
 }
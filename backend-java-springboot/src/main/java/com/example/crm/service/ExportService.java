@@ -0,0 +1,68 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.OrderExportRow;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables from a server-side cursor. Entities are detached as soon as they have been
+ * handed to the sink so the persistence context, and with it memory use, stays constant.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final OrderHeaderRepository orderRepository;
+    private final EntityManager entityManager;
+
+    public ExportService(CustomerRepository customerRepository, ProductRepository productRepository,
+                         OrderHeaderRepository orderRepository, EntityManager entityManager) {
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+    }
+
+    public void customers(String searchTerm, String email, String name, String city, Consumer<Customer> sink) {
+        try (Stream<Customer> rows = customerRepository.streamForExport(trimToNull(searchTerm), trimToNull(email),
+                trimToNull(name), trimToNull(city))) {
+            rows.forEach(customer -> {
+                sink.accept(customer);
+                entityManager.detach(customer);
+            });
+        }
+    }
+
+    public void products(String searchTerm, Long subCategoryId, Boolean active, Consumer<Product> sink) {
+        try (Stream<Product> rows = productRepository.streamForExport(trimToNull(searchTerm), subCategoryId, active)) {
+            rows.forEach(product -> {
+                sink.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    public void orders(Long customerId, OrderStatus status, LocalDate startDate, LocalDate endDate,
+                       Consumer<OrderExportRow> sink) {
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(customerId, status, startDate, endDate)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+}
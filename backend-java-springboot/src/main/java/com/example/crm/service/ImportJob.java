@@ -0,0 +1,101 @@
+package com.example.crm.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Counters are updated by the import thread and read by status requests.
+ */
+public class ImportJob {
+
+    public enum Type { PRODUCTS, CUSTOMERS }
+
+    public enum Format { CSV, NDJSON }
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record RowError(long row, String message) {}
+
+    private final String id;
+    private final Type type;
+    private final Format format;
+    private final int maxReportedErrors;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+
+    ImportJob(String id, Type type, Format format, int maxReportedErrors) {
+        this.id = id;
+        this.type = type;
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void inserted(int count) {
+        inserted.addAndGet(count);
+    }
+
+    // Every failure is counted, but only the first errors are kept so a bad file cannot exhaust the heap
+    void rowFailed(long row, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    public String getId() { return id; }
+    public Type getType() { return type; }
+    public Format getFormat() { return format; }
+    public Status getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getMessage() { return message; }
+    public long getRowsRead() { return rowsRead.get(); }
+    public long getInserted() { return inserted.get(); }
+    public long getFailed() { return failed.get(); }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public double getRowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return rowsRead.get() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.crm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time as field name to text maps. CSV takes field names from its header
+ * line, NDJSON from the object keys. A malformed row throws IllegalArgumentException and reading can
+ * continue with the next one.
+ */
+abstract class ImportRowReader implements Closeable {
+
+    static ImportRowReader open(Path file, ImportJob.Format format, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return format == ImportJob.Format.CSV ? new Csv(reader) : new Ndjson(reader, objectMapper);
+    }
+
+    protected final BufferedReader reader;
+    protected long row;
+
+    private ImportRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /** Returns the next row, or null at the end of the input. */
+    abstract Map<String, String> next() throws IOException;
+
+    /** 1-based number of the row last returned, not counting the CSV header. */
+    long row() {
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Csv extends ImportRowReader {
+        private List<String> header;
+
+        Csv(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            row++;
+            if (values.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = values.get(i);
+                fields.put(header.get(i).trim(), value.isEmpty() ? null : value);
+            }
+            return fields;
+        }
+
+        // RFC 4180: quoted fields may contain separators, doubled quotes and line breaks; blank lines are skipped
+        private List<String> readRecord() throws IOException {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (values.isEmpty() && value.length() == 0) {
+                        any = false;
+                        continue;
+                    }
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            if (!any) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class Ndjson extends ImportRowReader {
+        private final ObjectMapper objectMapper;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            row++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                fields.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+            }
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.crm.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of {@code order_status_events} ahead of the clock. On by default: the migration
+ * only creates partitions up to November 2026, so without this every later event lands in {@code p_future}
+ * and status-window queries are not pruned. Other databases and unpartitioned tables are skipped. New months are
+ * split off the {@code p_future} catch-all, which stays cheap as long as nothing has been written past the
+ * last monthly bound. Instances serialize on a named lock and read the bounds under it, so two nodes starting
+ * together do not both add the same partition. A failed run is logged, never fatal: rows keep landing in
+ * {@code p_future} until the next run succeeds.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.orders.history.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderHistoryPartitionMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(OrderHistoryPartitionMaintainer.class);
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String BOUNDS_SQL =
+            "SELECT PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_status_events' " +
+            "AND PARTITION_NAME IS NOT NULL AND PARTITION_DESCRIPTION <> 'MAXVALUE'";
+    private static final String LOCK_SQL = "SELECT GET_LOCK('crm.order_status_events.partitions', 0)";
+    private static final String UNLOCK_SQL = "SELECT RELEASE_LOCK('crm.order_status_events.partitions')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public OrderHistoryPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                           @Value("${crm.orders.history.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${crm.orders.history.partitions.cron:0 0 3 * * *}")
+    public void addPartitions() {
+        try {
+            // Named locks belong to the session, so lock, work and unlock share one connection
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                String database = connection.getMetaData().getDatabaseProductName();
+                if (!"MySQL".equals(database)) {
+                    log.info("Partition maintenance of order_status_events needs MySQL, not {}; skipping", database);
+                    return null;
+                }
+                JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                if (!Integer.valueOf(1).equals(session.queryForObject(LOCK_SQL, Integer.class))) {
+                    log.info("Partitions of order_status_events are being maintained by another instance");
+                    return null;
+                }
+                try {
+                    addPartitions(session);
+                } finally {
+                    session.queryForObject(UNLOCK_SQL, Integer.class);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance of order_status_events failed", e);
+        }
+    }
+
+    private void addPartitions(JdbcTemplate session) {
+        // Bounds are quoted datetimes for RANGE COLUMNS, e.g. '2026-11-01 00:00:00'
+        LocalDate lastBound = session.queryForList(BOUNDS_SQL, String.class).stream()
+                .map(bound -> LocalDate.parse(bound.replace("'", "").substring(0, 10)))
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        if (lastBound == null) {
+            log.warn("order_status_events is not partitioned by month; skipping partition maintenance");
+            return;
+        }
+        LocalDate until = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead + 1L).atDay(1);
+        List<String> partitions = new ArrayList<>();
+        for (LocalDate from = lastBound; from.isBefore(until); from = from.plusMonths(1)) {
+            partitions.add("PARTITION " + PARTITION_NAME.format(from)
+                    + " VALUES LESS THAN ('" + from.plusMonths(1) + "')");
+        }
+        if (partitions.isEmpty()) {
+            return;
+        }
+        partitions.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        session.execute("ALTER TABLE order_status_events REORGANIZE PARTITION p_future INTO ("
+                + String.join(", ", partitions) + ")");
+        log.info("Added {} monthly partitions to order_status_events", partitions.size() - 1);
+    }
+}
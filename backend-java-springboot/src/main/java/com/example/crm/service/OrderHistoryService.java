@@ -0,0 +1,69 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.OrderStatusEvent;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.OrderStatusEventRepository;
+import com.example.crm.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status timeline of orders (AC-ORDER-002). Events are appended with the transition that causes them and
+ * read from {@code order_status_events} alone, so "which orders were shipped last week" never touches
+ * {@code order_headers}.
+ */
+@Service
+@Timed("crm.service")
+@Transactional(readOnly = true)
+public class OrderHistoryService {
+    // Margin for clock differences between the order's creation timestamp and its first event
+    private static final Duration CREATION_MARGIN = Duration.ofDays(1);
+
+    private final OrderStatusEventRepository repository;
+    private final OrderHeaderRepository headerRepo;
+
+    public OrderHistoryService(OrderStatusEventRepository repository, OrderHeaderRepository headerRepo) {
+        this.repository = repository;
+        this.headerRepo = headerRepo;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<OrderStatusEvent> events) {
+        if (!events.isEmpty()) {
+            repository.insertAll(events);
+        }
+    }
+
+    /** Every status change of the order, oldest first. History outlives deleted orders. */
+    public List<OrderStatusEvent> timeline(Long orderId) {
+        Instant since = headerRepo.findById(orderId)
+                .map(OrderHeader::getCreatedAt)
+                .map(createdAt -> createdAt.minus(CREATION_MARGIN))
+                .orElse(Instant.EPOCH);
+        List<OrderStatusEvent> events =
+                repository.findByOrderIdAndChangedAtGreaterThanEqualOrderByChangedAtAscIdAsc(orderId, since);
+        if (events.isEmpty() && since.equals(Instant.EPOCH)) {
+            throw new ResourceNotFoundException("Order not found");
+        }
+        return events;
+    }
+
+    /** Orders that entered {@code status} in [from, to), in the order they entered it. */
+    public Slice<OrderStatusEvent> entered(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return repository.findByToStatusAndChangedAtGreaterThanEqualAndChangedAtLessThanOrderByChangedAtAscIdAsc(
+                status, from, to, pageable);
+    }
+}
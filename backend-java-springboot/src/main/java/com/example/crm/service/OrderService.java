@@ -4,57 +4,135 @@ import com.example.crm.domain.model.OrderHeader;
 import com.example.crm.domain.model.OrderLine;
 import com.example.crm.domain.model.Product;
 import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.OrderStatusEvent;
+import com.example.crm.domain.repository.KeysetCursor;
+import com.example.crm.domain.repository.KeysetSlice;
 import com.example.crm.domain.repository.OrderHeaderRepository;
 import com.example.crm.domain.repository.OrderLineRepository;
+import com.example.crm.domain.repository.OrderSearchCriteria;
+import com.example.crm.domain.repository.OrderSummary;
 import com.example.crm.domain.repository.ProductRepository;
 import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.monitoring.SqlStatementCounter;
+import com.example.crm.service.outbox.OutboxService;
+import com.example.crm.service.reporting.OrderSalesEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("crm.service")
 @Transactional
 public class OrderService {
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
     private final OrderHeaderRepository headerRepo;
     private final OrderLineRepository lineRepo;
     private final ProductRepository productRepo;
     private final CustomerService customerService;
+    private final StockReservationService stockReservations;
+    private final OrderHistoryService history;
+    private final OutboxService outbox;
+    private final MeterRegistry registry;
+    private final Counter ordersPlaced;
+    private final DistributionSummary orderLines;
 
     public OrderService(OrderHeaderRepository headerRepo, OrderLineRepository lineRepo,
-                        ProductRepository productRepo, CustomerService customerService) {
+                        ProductRepository productRepo, CustomerService customerService,
+                        StockReservationService stockReservations, OrderHistoryService history,
+                        OutboxService outbox, MeterRegistry registry) {
         this.headerRepo = headerRepo;
         this.lineRepo = lineRepo;
         this.productRepo = productRepo;
         this.customerService = customerService;
+        this.stockReservations = stockReservations;
+        this.history = history;
+        this.outbox = outbox;
+        this.registry = registry;
+        this.ordersPlaced = Counter.builder("crm.orders.placed")
+                .description("Orders placed through OrderService.create")
+                .register(registry);
+        this.orderLines = DistributionSummary.builder("crm.orders.lines")
+                .description("Lines per placed order")
+                .register(registry);
     }
 
     @Transactional(readOnly = true)
     public org.springframework.data.domain.Page<OrderHeader> findAll(org.springframework.data.domain.Pageable pageable) {
-        return headerRepo.findAll(pageable);
+        org.springframework.data.domain.Page<OrderHeader> page = headerRepo.findAll(pageable);
+        fetchLines(page.getContent());
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetSlice<OrderHeader> scroll(KeysetCursor cursor, int size) {
+        KeysetSlice<OrderHeader> slice = headerRepo.findSlice(cursor, size);
+        fetchLines(slice.content());
+        return slice;
+    }
+
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Slice<OrderSummary> search(OrderSearchCriteria criteria,
+                                                                      org.springframework.data.domain.Pageable pageable) {
+        if (criteria.startDate() != null && criteria.endDate() != null
+                && criteria.startDate().isAfter(criteria.endDate())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return headerRepo.searchSummaries(criteria, pageable);
     }
 
     @Transactional(readOnly = true)
     public OrderHeader findById(Long id) {
-        return headerRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        return headerRepo.findWithLinesById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found"));
     }
 
-    public OrderHeader create(OrderHeader order) {
+    public OrderHeader create(OrderHeader order, String createdBy) {
         if (order.getLines() == null || order.getLines().isEmpty()) {
             throw new IllegalArgumentException("Order must contain lines");
         }
+        long statementsBefore = SqlStatementCounter.current();
         order.setCustomer(customerService.findById(order.getCustomer().getId()));
-        BigDecimal total = BigDecimal.ZERO;
+
+        // Lines may repeat a product, so stock is checked against the summed quantity
+        Map<Long, Integer> requested = new HashMap<>();
         for (OrderLine line : order.getLines()) {
-            Product product = productRepo.findById(line.getProduct().getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+            requested.merge(line.getProduct().getId(), line.getQuantity(), Integer::sum);
+        }
+
+        // One SELECT for every referenced product instead of one per line; no row lock is taken here
+        Map<Long, Product> products = productRepo.findAllById(requested.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                rejected("unknown_product");
+                throw new IllegalArgumentException("Product not found");
+            }
             if (product.getActive() != null && !product.getActive()) {
+                rejected("inactive_product");
                 throw new IllegalStateException("Product inactive");
             }
-            if (product.getStockQuantity() == null || product.getStockQuantity() < line.getQuantity()) {
+            if (product.getStockQuantity() == null || product.getStockQuantity() < entry.getValue()) {
+                rejected("insufficient_stock");
                 throw new IllegalStateException("Insufficient stock");
             }
-            product.setStockQuantity(product.getStockQuantity() - line.getQuantity());
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderLine line : order.getLines()) {
+            Product product = products.get(line.getProduct().getId());
             line.setProduct(product);
             line.setOrderHeader(order);
             line.setUnitPrice(product.getPrice());
@@ -63,11 +141,52 @@ public class OrderService {
         }
         order.setTotalAmount(total);
         order.setStatus(OrderStatus.NEW);
-        return headerRepo.save(order);
+
+        // Persisting allocates the order id the ledger movements refer to; nothing is written before the flush
+        OrderHeader saved = headerRepo.save(order);
+        // The conditional decrement is authoritative: concurrent orders cannot oversell
+        try {
+            stockReservations.reserve(saved.getId(), requested);
+        } catch (IllegalStateException e) {
+            rejected("concurrent_reservation");
+            throw e;
+        }
+        // Flush here so the line inserts go out as JDBC batches and are counted
+        headerRepo.flush();
+        history.record(List.of(new OrderStatusEvent(saved.getId(), null, saved.getStatus(), saved.getVersion(),
+                createdBy)));
+        log.debug("Order {} placed with {} lines for {} products in {} SQL statements",
+                saved.getId(), order.getLines().size(), products.size(),
+                SqlStatementCounter.current() - statementsBefore);
+        record(OrderSalesEvent.placed(saved));
+        ordersPlaced.increment();
+        orderLines.record(order.getLines().size());
+        return saved;
+    }
+
+    private void rejected(String reason) {
+        registry.counter("crm.orders.stock.rejections", "reason", reason).increment();
     }
 
-    public void delete(Long id) {
+    // Initializes the lines of already loaded orders with one query instead of one per order.
+    // Line products stay lazy: mapping only reads their id, which does not initialize the proxy.
+    private void fetchLines(List<OrderHeader> orders) {
+        if (!orders.isEmpty()) {
+            headerRepo.findAllWithLinesByIdIn(orders.stream().map(OrderHeader::getId).toList());
+        }
+    }
+
+    public void delete(Long id, Long ifMatchVersion) {
         OrderHeader existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
+        if (OrderSalesEvent.counts(existing)) {
+            record(OrderSalesEvent.removed(existing));
+        }
         headerRepo.delete(existing);
     }
+
+    // Written in the order transaction; downstream work runs later from the outbox dispatcher
+    private void record(OrderSalesEvent event) {
+        outbox.append(OrderSalesEvent.AGGREGATE, event.orderId(), event.eventType(), event);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderStatus;
+
+/**
+ * Outbox payload recorded for every order status transition; {@code version} is the order version
+ * after the change.
+ */
+public record OrderStatusChange(Long orderId, OrderStatus from, OrderStatus to, Long version) {
+
+    public static final String TYPE = "OrderStatusChanged";
+}
@@ -0,0 +1,143 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.OrderStatusEvent;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.OrderStatusRow;
+import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.OrderTransitionResult.Outcome;
+import com.example.crm.service.outbox.OutboxService;
+import com.example.crm.service.reporting.OrderSalesEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves orders through NEW -> PAID -> SHIPPED, with CANCELLED reachable until shipping.
+ * Cancelling gives the reserved stock back and removes the order from the sales figures. Every
+ * transition is added to the order's history together with the user who made it.
+ */
+@Service
+@Timed("crm.service")
+@Transactional
+public class OrderStatusService {
+    public static final int MAX_BULK_SIZE = 5000;
+
+    private final OrderHeaderRepository headerRepo;
+    private final StockReservationService stockReservations;
+    private final OrderHistoryService history;
+    private final OutboxService outbox;
+
+    public OrderStatusService(OrderHeaderRepository headerRepo, StockReservationService stockReservations,
+                              OrderHistoryService history, OutboxService outbox) {
+        this.headerRepo = headerRepo;
+        this.stockReservations = stockReservations;
+        this.history = history;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Transitions one order. When {@code expectedVersion} is given it must match the stored version;
+     * the flush checks it again, so a concurrent change between read and write also fails.
+     * {@code ifMatchVersion} is the same check for an If-Match header, failing with 412 instead of 409.
+     */
+    public OrderHeader transition(Long id, OrderStatus target, Long expectedVersion, Long ifMatchVersion,
+                                  String changedBy) {
+        OrderHeader order = headerRepo.findWithLinesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        Preconditions.checkIfMatch(ifMatchVersion, order.getVersion());
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(OrderHeader.class, id);
+        }
+        OrderStatus previous = order.getStatus();
+        order.transitionTo(target);
+        if (target == OrderStatus.CANCELLED) {
+            stockReservations.release(quantities(List.of(order)));
+            outbox.append(OrderSalesEvent.AGGREGATE, id, OrderSalesEvent.REMOVED, OrderSalesEvent.removed(order));
+        }
+        OrderHeader saved = headerRepo.saveAndFlush(order);
+        history.record(List.of(new OrderStatusEvent(id, previous, target, saved.getVersion(), changedBy)));
+        outbox.append(OrderSalesEvent.AGGREGATE, id, OrderStatusChange.TYPE,
+                new OrderStatusChange(id, previous, target, saved.getVersion()));
+        return saved;
+    }
+
+    /**
+     * Transitions many orders with one locking read and one UPDATE, instead of loading and saving
+     * each order. {@code expectedVersions} maps order ids to the version the caller last saw, or to
+     * null to skip the check. Orders that cannot move are reported and left untouched; the others
+     * are all updated.
+     */
+    public List<OrderTransitionResult> transitionAll(OrderStatus target, Map<Long, Long> expectedVersions,
+                                                     String changedBy) {
+        if (expectedVersions.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " orders per request");
+        }
+        Map<Long, OrderStatusRow> current = headerRepo.lockStatuses(expectedVersions.keySet());
+        List<OrderTransitionResult> results = new ArrayList<>(expectedVersions.size());
+        Map<Long, OrderStatusChange> changes = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : expectedVersions.entrySet()) {
+            Long id = entry.getKey();
+            OrderStatusRow row = current.get(id);
+            if (row == null) {
+                results.add(new OrderTransitionResult(id, Outcome.NOT_FOUND, null, null));
+            } else if (entry.getValue() != null && !entry.getValue().equals(row.version())) {
+                results.add(new OrderTransitionResult(id, Outcome.VERSION_CONFLICT, row.status(), row.version()));
+            } else if (!row.status().canTransitionTo(target)) {
+                results.add(new OrderTransitionResult(id, Outcome.INVALID_TRANSITION, row.status(), row.version()));
+            } else {
+                // The row is locked until commit, so the update below cannot miss it
+                results.add(new OrderTransitionResult(id, Outcome.UPDATED, target, row.version() + 1));
+                changes.put(id, new OrderStatusChange(id, row.status(), target, row.version() + 1));
+            }
+        }
+        if (changes.isEmpty()) {
+            return results;
+        }
+        headerRepo.updateStatus(changes.keySet(), target);
+        history.record(changes.values().stream()
+                .map(change -> new OrderStatusEvent(change.orderId(), change.from(), change.to(), change.version(),
+                        changedBy))
+                .toList());
+        if (target == OrderStatus.CANCELLED) {
+            cancelled(changes.keySet().stream().toList());
+        }
+        outbox.appendAll(OrderSalesEvent.AGGREGATE, OrderStatusChange.TYPE, changes);
+        return results;
+    }
+
+    private void cancelled(List<Long> ids) {
+        List<OrderHeader> orders = headerRepo.findAllWithLinesByIdIn(ids);
+        stockReservations.release(quantities(orders));
+        Map<Long, OrderSalesEvent> removed = new LinkedHashMap<>();
+        for (OrderHeader order : orders) {
+            removed.put(order.getId(), OrderSalesEvent.removed(order));
+        }
+        outbox.appendAll(OrderSalesEvent.AGGREGATE, OrderSalesEvent.REMOVED, removed);
+    }
+
+    private static Map<Long, Map<Long, Integer>> quantities(List<OrderHeader> orders) {
+        Map<Long, Map<Long, Integer>> quantities = new HashMap<>();
+        for (OrderHeader order : orders) {
+            if (order.getLines() == null) {
+                continue;
+            }
+            for (OrderLine line : order.getLines()) {
+                if (line.getProduct() != null && line.getQuantity() != null) {
+                    quantities.computeIfAbsent(order.getId(), id -> new HashMap<>())
+                            .merge(line.getProduct().getId(), line.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderStatus;
+
+/**
+ * Outcome of one order in a bulk status transition. {@code status} and {@code version} are the
+ * order's values after the request (unchanged when it was rejected).
+ */
+public record OrderTransitionResult(Long id, Outcome outcome, OrderStatus status, Long version) {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, VERSION_CONFLICT, INVALID_TRANSITION
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.crm.service;
+
+import com.example.crm.exception.PreconditionFailedException;
+
+final class Preconditions {
+
+    private Preconditions() {}
+
+    /**
+     * Fails with 412 unless the entity, as read by the current write transaction, has the version an
+     * If-Match header asked for; null means the write is unconditional. The flush re-checks the version,
+     * so a change committed between this check and the write fails too.
+     */
+    static void checkIfMatch(Long ifMatchVersion, Long currentVersion) {
+        if (ifMatchVersion != null && !ifMatchVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException("The resource has been modified since it was read");
+        }
+    }
+}
@@ -1,43 +1,73 @@
 package com.example.crm.service;
 
+import com.example.crm.config.CacheConfig;
 import com.example.crm.domain.model.ProductCategory;
 import com.example.crm.domain.repository.ProductCategoryRepository;
 import com.example.crm.domain.repository.ProductSubCategoryRepository;
 import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.inventory.StockChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
+
 @Service
+@Timed("crm.service")
 @Transactional
 public class ProductCategoryService {
     private final ProductCategoryRepository repository;
     private final ProductSubCategoryRepository subCategoryRepository;
+    private final ApplicationEventPublisher events;
 
-    public ProductCategoryService(ProductCategoryRepository repository, ProductSubCategoryRepository subCategoryRepository) {
+    public ProductCategoryService(ProductCategoryRepository repository, ProductSubCategoryRepository subCategoryRepository,
+                                  ApplicationEventPublisher events) {
         this.repository = repository;
         this.subCategoryRepository = subCategoryRepository;
+        this.events = events;
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public java.util.List<ProductCategory> findAll() {
         return repository.findAll();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.CATEGORY)
     public ProductCategory findById(Long id) {
         return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category not found"));
     }
 
+    // Subcategories embed their category, so any category write drops the whole hierarchy
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY, CacheConfig.SUBCATEGORIES,
+            CacheConfig.SUBCATEGORIES_BY_CATEGORY, CacheConfig.SUBCATEGORY}, allEntries = true)
     public ProductCategory create(ProductCategory category) {
         return repository.save(category);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY, CacheConfig.SUBCATEGORIES,
+            CacheConfig.SUBCATEGORIES_BY_CATEGORY, CacheConfig.SUBCATEGORY}, allEntries = true)
     public ProductCategory update(Long id, ProductCategory updated) {
+        if (updated.getLowStockThreshold() != null && updated.getLowStockThreshold() < 0) {
+            throw new IllegalArgumentException("Low-stock threshold must be >= 0");
+        }
         ProductCategory existing = findById(id);
+        boolean thresholdChanged = !Objects.equals(existing.getLowStockThreshold(), updated.getLowStockThreshold());
         existing.setName(updated.getName());
-        return repository.save(existing);
+        existing.setLowStockThreshold(updated.getLowStockThreshold());
+        ProductCategory saved = repository.save(existing);
+        if (thresholdChanged) {
+            events.publishEvent(StockChangedEvent.all());
+        }
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY, CacheConfig.SUBCATEGORIES,
+            CacheConfig.SUBCATEGORIES_BY_CATEGORY, CacheConfig.SUBCATEGORY}, allEntries = true)
     public void delete(Long id) {
         if (subCategoryRepository.existsByCategoryId(id)) {
             throw new IllegalStateException("Category has subcategories");
@@ -1,28 +1,44 @@
 package com.example.crm.service;
 
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.model.MovementReason;
 import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.KeysetCursor;
+import com.example.crm.domain.repository.KeysetSlice;
 import com.example.crm.domain.repository.OrderLineRepository;
 import com.example.crm.domain.repository.ProductRepository;
 import com.example.crm.exception.DuplicateSkuException;
 import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.inventory.InventoryLedger;
+import com.example.crm.service.search.ProductChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
+@Timed("crm.service")
 @Transactional
 public class ProductService {
     private final ProductRepository repository;
     private final ProductSubCategoryService subCategoryService;
     private final OrderLineRepository orderRepository;
+    private final InventoryLedger ledger;
+    private final ApplicationEventPublisher events;
 
-    public ProductService(ProductRepository repository, ProductSubCategoryService subCategoryService, OrderLineRepository orderRepository) {
+    public ProductService(ProductRepository repository, ProductSubCategoryService subCategoryService,
+                          OrderLineRepository orderRepository, InventoryLedger ledger,
+                          ApplicationEventPublisher events) {
         this.repository = repository;
         this.subCategoryService = subCategoryService;
         this.orderRepository = orderRepository;
+        this.ledger = ledger;
+        this.events = events;
     }
 
     @Transactional(readOnly = true)
@@ -30,6 +46,11 @@ public class ProductService {
         return repository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<Product> scroll(KeysetCursor cursor, int size) {
+        return repository.findSlice(cursor, size);
+    }
+
     @Transactional(readOnly = true)
     public java.util.List<Product> findBySubCategoryId(Long subCategoryId) {
         return repository.findBySubCategoryId(subCategoryId);
@@ -48,36 +69,56 @@ public class ProductService {
         if (product.getSubCategory() != null) {
             product.setSubCategory(subCategoryService.findById(product.getSubCategory().getId()));
         }
-        return repository.save(product);
+        Product saved = repository.save(product);
+        if (stock(saved) != 0) {
+            ledger.record(List.of(new InventoryMovement(saved.getId(), stock(saved), MovementReason.INITIAL, null)));
+        }
+        events.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
-    public Product update(Long id, Product updated) {
-        Product existing = findById(id);
+    public Product update(Long id, Product updated, Long ifMatchVersion) {
+        Product existing = repository.findForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         if (!existing.getSku().equals(updated.getSku()) && repository.existsBySku(updated.getSku())) {
             throw new DuplicateSkuException("SKU already exists");
         }
         validate(updated);
+        int delta = stock(updated) - stock(existing);
         existing.setSku(updated.getSku());
         existing.setName(updated.getName());
         existing.setDescription(updated.getDescription());
         existing.setPrice(updated.getPrice());
         existing.setStockQuantity(updated.getStockQuantity());
         existing.setActive(updated.getActive());
+        existing.setLowStockThreshold(updated.getLowStockThreshold());
         if (updated.getSubCategory() != null) {
             existing.setSubCategory(subCategoryService.findById(updated.getSubCategory().getId()));
         }
-        return repository.save(existing);
+        Product saved = repository.save(existing);
+        if (delta != 0) {
+            ledger.record(List.of(new InventoryMovement(id, delta, MovementReason.ADJUSTMENT, null)));
+        }
+        events.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
-    public void delete(Long id) {
+    public void delete(Long id, Long ifMatchVersion) {
         if (orderRepository.existsByProductId(id)) {
             throw new IllegalStateException("Product in use by orders");
         }
         Product existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         repository.delete(existing);
+        events.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    private static int stock(Product product) {
+        return product.getStockQuantity() == null ? 0 : product.getStockQuantity();
     }
 
-    private void validate(Product product) {
+    static void validate(Product product) {
         BigDecimal price = product.getPrice();
         if (price == null || price.scale() > 2 || price.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Invalid price");
@@ -85,5 +126,8 @@ public class ProductService {
         if (product.getStockQuantity() != null && product.getStockQuantity() < 0) {
             throw new IllegalArgumentException("Stock must be >= 0");
         }
+        if (product.getLowStockThreshold() != null && product.getLowStockThreshold() < 0) {
+            throw new IllegalArgumentException("Low-stock threshold must be >= 0");
+        }
     }
 }
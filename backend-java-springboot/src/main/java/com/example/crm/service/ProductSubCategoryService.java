@@ -1,13 +1,18 @@
 package com.example.crm.service;
 
+import com.example.crm.config.CacheConfig;
 import com.example.crm.domain.model.ProductSubCategory;
 import com.example.crm.domain.repository.ProductSubCategoryRepository;
 import com.example.crm.domain.repository.ProductRepository;
 import com.example.crm.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("crm.service")
 @Transactional
 public class ProductSubCategoryService {
     private final ProductSubCategoryRepository repository;
@@ -21,20 +26,25 @@ public class ProductSubCategoryService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SUBCATEGORIES, key = "'all'")
     public java.util.List<ProductSubCategory> findAll() {
         return repository.findAll();
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.SUBCATEGORIES_BY_CATEGORY)
     public java.util.List<ProductSubCategory> findByCategoryId(Long categoryId) {
         return repository.findByCategoryId(categoryId);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.SUBCATEGORY)
     public ProductSubCategory findById(Long id) {
         return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("SubCategory not found"));
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.SUBCATEGORIES, CacheConfig.SUBCATEGORIES_BY_CATEGORY,
+            CacheConfig.SUBCATEGORY}, allEntries = true)
     public ProductSubCategory create(ProductSubCategory subCategory) {
         if (subCategory.getCategory() != null) {
             subCategory.setCategory(categoryService.findById(subCategory.getCategory().getId()));
@@ -42,8 +52,11 @@ public class ProductSubCategoryService {
         return repository.save(subCategory);
     }
 
-    public ProductSubCategory update(Long id, ProductSubCategory updated) {
+    @CacheEvict(cacheNames = {CacheConfig.SUBCATEGORIES, CacheConfig.SUBCATEGORIES_BY_CATEGORY,
+            CacheConfig.SUBCATEGORY}, allEntries = true)
+    public ProductSubCategory update(Long id, ProductSubCategory updated, Long ifMatchVersion) {
         ProductSubCategory existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         existing.setName(updated.getName());
         if (updated.getCategory() != null) {
             existing.setCategory(categoryService.findById(updated.getCategory().getId()));
@@ -51,11 +64,14 @@ public class ProductSubCategoryService {
         return repository.save(existing);
     }
 
-    public void delete(Long id) {
+    @CacheEvict(cacheNames = {CacheConfig.SUBCATEGORIES, CacheConfig.SUBCATEGORIES_BY_CATEGORY,
+            CacheConfig.SUBCATEGORY}, allEntries = true)
+    public void delete(Long id, Long ifMatchVersion) {
         if (productRepository.existsBySubCategoryId(id)) {
             throw new IllegalStateException("SubCategory has products");
         }
         ProductSubCategory existing = findById(id);
+        Preconditions.checkIfMatch(ifMatchVersion, existing.getVersion());
         repository.delete(existing);
     }
 }
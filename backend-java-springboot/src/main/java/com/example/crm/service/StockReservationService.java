@@ -0,0 +1,69 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.model.MovementReason;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.service.inventory.InventoryLedger;
+import com.example.crm.service.inventory.StockChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reserves and releases product stock with conditional single-statement updates instead of
+ * read-modify-write on loaded entities. A reservation is committed or rolled back together
+ * with the surrounding transaction; release gives stock back for cancelled orders. Both append
+ * the matching movements to the {@link InventoryLedger} after the update has locked the rows.
+ */
+@Service
+@Timed("crm.service")
+@Transactional
+public class StockReservationService {
+    private final ProductRepository productRepository;
+    private final InventoryLedger ledger;
+    private final ApplicationEventPublisher events;
+
+    public StockReservationService(ProductRepository productRepository, InventoryLedger ledger,
+                                   ApplicationEventPublisher events) {
+        this.productRepository = productRepository;
+        this.ledger = ledger;
+        this.events = events;
+    }
+
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Long> rejected = productRepository.decrementStock(quantities);
+        if (!rejected.isEmpty()) {
+            throw new IllegalStateException("Insufficient stock for products " + rejected);
+        }
+        List<InventoryMovement> movements = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) ->
+                movements.add(new InventoryMovement(productId, -quantity, MovementReason.ORDER_PLACED, orderId)));
+        ledger.record(movements);
+        events.publishEvent(StockChangedEvent.of(quantities.keySet()));
+    }
+
+    /** Releases the quantities of cancelled orders, keyed by order id and then product id. */
+    public void release(Map<Long, Map<Long, Integer>> quantitiesByOrder) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        List<InventoryMovement> movements = new ArrayList<>();
+        quantitiesByOrder.forEach((orderId, orderQuantities) -> orderQuantities.forEach((productId, quantity) -> {
+            quantities.merge(productId, quantity, Integer::sum);
+            movements.add(new InventoryMovement(productId, quantity, MovementReason.ORDER_CANCELLED, orderId));
+        }));
+        if (quantities.isEmpty()) {
+            return;
+        }
+        productRepository.incrementStock(quantities);
+        ledger.record(movements);
+        events.publishEvent(StockChangedEvent.of(quantities.keySet()));
+    }
+}
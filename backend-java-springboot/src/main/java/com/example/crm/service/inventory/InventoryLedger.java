@@ -0,0 +1,109 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.model.InventorySnapshot;
+import com.example.crm.domain.repository.InventoryMovementRepository;
+import com.example.crm.domain.repository.InventorySnapshotRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only record of every stock change. {@code products.stock_quantity} stays the value that orders
+ * check and decrement; the ledger explains how it got there and can restore it. Periodic snapshots keep
+ * the replay short: the stock at any time is the latest snapshot before it plus the movements after.
+ */
+@Service
+@Timed("crm.service")
+@Transactional
+public class InventoryLedger {
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedger.class);
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final ApplicationEventPublisher events;
+    private final Duration settle;
+
+    public InventoryLedger(InventoryMovementRepository movementRepository,
+                           InventorySnapshotRepository snapshotRepository, ApplicationEventPublisher events,
+                           @Value("${crm.inventory.snapshot.settle:5m}") Duration settle) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.events = events;
+        this.settle = settle;
+    }
+
+    /**
+     * Appends movements in the caller's transaction, so they commit or roll back with the stock change.
+     * Callers hold the row lock of each product (or update its stock) before recording its movement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<InventoryMovement> movements) {
+        if (!movements.isEmpty()) {
+            movementRepository.appendAll(movements);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryMovement> history(Long productId, Instant from, Instant to, Pageable pageable) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return movementRepository.findByProductIdAndCreatedAtBetweenOrderByIdDesc(productId, from, to, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public StockAt stockAt(Long productId, Instant at) {
+        Optional<InventorySnapshot> snapshot =
+                snapshotRepository.findFirstByProductIdAndAsOfLessThanEqualOrderByAsOfDescIdDesc(productId, at);
+        long base = snapshot.map(InventorySnapshot::getStock).orElse(0);
+        long after = snapshot.map(InventorySnapshot::getLastMovementId).orElse(0L);
+        long stock = base + movementRepository.sumAfter(productId, after, at);
+        return new StockAt(productId, at, stock, snapshot.map(InventorySnapshot::getAsOf).orElse(null));
+    }
+
+    /**
+     * Snapshots the movements older than the settle window. Ids are assigned at insert but become visible
+     * at commit, so a movement younger than the window may still be hidden behind a lower, uncommitted id;
+     * stopping short of it keeps such a movement from falling behind a snapshot.
+     */
+    public int snapshot() {
+        Instant cutoff = Instant.now().minus(settle);
+        Long last = movementRepository.findLastIdBefore(cutoff);
+        long covered = snapshotRepository.findLastCoveredMovementId();
+        if (last == null || last <= covered) {
+            return 0;
+        }
+        int written = movementRepository.snapshot(covered, last, cutoff);
+        log.info("Snapshotted {} products up to movement {}", written, last);
+        return written;
+    }
+
+    /** Restores {@code stock_quantity} from the ledger for the given products, or all when null. */
+    public int rebuild(Collection<Long> productIds) {
+        if (productIds != null && productIds.isEmpty()) {
+            return 0;
+        }
+        int corrected = movementRepository.rebuildStock(productIds);
+        if (corrected > 0) {
+            log.warn("Rebuilt stock from the ledger: {} products corrected", corrected);
+            events.publishEvent(productIds == null ? StockChangedEvent.all() : StockChangedEvent.of(productIds));
+        }
+        return corrected;
+    }
+
+    public record StockAt(Long productId, Instant at, long stock, Instant snapshotAsOf) {}
+}
@@ -0,0 +1,21 @@
+package com.example.crm.service.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "crm.inventory.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class InventorySnapshotJob {
+
+    private final InventoryLedger ledger;
+
+    public InventorySnapshotJob(InventoryLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Scheduled(cron = "${crm.inventory.snapshot.cron:0 15 * * * *}")
+    public void run() {
+        ledger.snapshot();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.repository.StockLevel;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link LowStockMonitor} when a product falls to its threshold, changes while below
+ * it ({@code LOW}), or climbs back above it or is deactivated or deleted ({@code RESTOCKED}).
+ */
+public record LowStockAlert(Type type, Long productId, String sku, String name, Integer stock, Integer threshold,
+                            Instant at) {
+
+    public enum Type { LOW, RESTOCKED }
+
+    static LowStockAlert low(StockLevel level) {
+        return new LowStockAlert(Type.LOW, level.productId(), level.sku(), level.name(), level.stock(),
+                level.threshold(), Instant.now());
+    }
+
+    static LowStockAlert restocked(StockLevel previous, StockLevel current) {
+        StockLevel level = current == null ? previous : current;
+        return new LowStockAlert(Type.RESTOCKED, level.productId(), level.sku(), level.name(),
+                current == null ? null : current.stock(), level.threshold(), Instant.now());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.domain.repository.StockLevel;
+import com.example.crm.service.search.ProductChangedEvent;
+import com.example.crm.service.search.ProductsImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the products at or below their low-stock threshold in memory and publishes a
+ * {@link LowStockAlert} on every change to that set. It is loaded at startup and after imports. After that,
+ * only the products named by committed stock and product changes are re-read, by primary key.
+ * Index updates are serialized so that an older read cannot overwrite a newer one. The lock is a
+ * ReentrantLock rather than a monitor, because the reads run while it is held and a virtual thread
+ * blocked inside {@code synchronized} would pin its carrier.
+ */
+@Component
+public class LowStockMonitor {
+    private final ProductRepository repository;
+    private final ApplicationEventPublisher events;
+    private final int defaultThreshold;
+    private final Map<Long, StockLevel> below = new ConcurrentHashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    public LowStockMonitor(ProductRepository repository, ApplicationEventPublisher events, MeterRegistry registry,
+                           @Value("${crm.inventory.low-stock-threshold:10}") int defaultThreshold) {
+        this.repository = repository;
+        this.events = events;
+        this.defaultThreshold = defaultThreshold;
+        Gauge.builder("crm.inventory.low.stock", below, Map::size)
+                .description("Products at or below their low-stock threshold")
+                .register(registry);
+    }
+
+    public List<StockLevel> lowStock() {
+        return below.values().stream()
+                .sorted(Comparator.comparing(StockLevel::stock).thenComparing(StockLevel::productId))
+                .toList();
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ProductsImportedEvent.class})
+    public void reload() {
+        publish(reloadIndex());
+    }
+
+    // After commit, outside any read-only transaction, so the reads see the committed stock on the primary
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.productIds() == null) {
+            reload();
+        } else {
+            publish(refreshIndex(event.productIds()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        publish(refreshIndex(Set.of(event.productId())));
+    }
+
+    private List<LowStockAlert> reloadIndex() {
+        lock.lock();
+        try {
+            Map<Long, StockLevel> current = byId(repository.findLowStockProducts(defaultThreshold));
+            Set<Long> ids = new HashSet<>(below.keySet());
+            ids.addAll(current.keySet());
+            return apply(ids, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<LowStockAlert> refreshIndex(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        lock.lock();
+        try {
+            return apply(productIds, byId(repository.findStockLevels(productIds, defaultThreshold)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<LowStockAlert> apply(Collection<Long> productIds, Map<Long, StockLevel> current) {
+        List<LowStockAlert> alerts = new ArrayList<>();
+        for (Long productId : productIds) {
+            StockLevel level = current.get(productId);
+            if (level != null && level.low()) {
+                StockLevel previous = below.put(productId, level);
+                if (!level.equals(previous)) {
+                    alerts.add(LowStockAlert.low(level));
+                }
+            } else {
+                StockLevel previous = below.remove(productId);
+                if (previous != null) {
+                    alerts.add(LowStockAlert.restocked(previous, level));
+                }
+            }
+        }
+        return alerts;
+    }
+
+    // Outside the lock, so slow listeners do not hold up other stock updates
+    private void publish(List<LowStockAlert> alerts) {
+        alerts.forEach(events::publishEvent);
+    }
+
+    private static Map<Long, StockLevel> byId(List<StockLevel> levels) {
+        return levels.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(StockLevel::productId, Function.identity()));
+    }
+}
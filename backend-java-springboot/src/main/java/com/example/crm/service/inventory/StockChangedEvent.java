@@ -0,0 +1,19 @@
+package com.example.crm.service.inventory;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published when stock or thresholds change outside a plain product save. {@code productIds} is null
+ * when every product may be affected (a category threshold changed).
+ */
+public record StockChangedEvent(Set<Long> productIds) {
+
+    public static StockChangedEvent of(Collection<Long> productIds) {
+        return new StockChangedEvent(Set.copyOf(productIds));
+    }
+
+    public static StockChangedEvent all() {
+        return new StockChangedEvent(null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.crm.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends messages as NDJSON to a local file, for consumers that tail it.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${crm.outbox.file.path:outbox/events.ndjson}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(OutboxMessage message) {
+        try {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", message.id())
+                    .put("aggregateType", message.aggregateType())
+                    .put("aggregateId", message.aggregateId())
+                    .put("eventType", message.eventType())
+                    .put("createdAt", message.createdAt().toString());
+            line.set("payload", objectMapper.readTree(message.payload()));
+            writer().write(objectMapper.writeValueAsString(line));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
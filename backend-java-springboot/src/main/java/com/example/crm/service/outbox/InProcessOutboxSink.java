@@ -0,0 +1,29 @@
+package com.example.crm.service.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes each message as an application event. Listeners run synchronously inside the
+ * dispatcher transaction, so their database writes commit together with the published marker
+ * and a message is applied exactly once.
+ */
+@Component
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher events;
+
+    public InProcessOutboxSink(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        events.publishEvent(message);
+    }
+}
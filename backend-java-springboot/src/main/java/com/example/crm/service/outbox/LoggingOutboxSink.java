@@ -0,0 +1,25 @@
+package com.example.crm.service.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in for a message broker: logs each message under a topic per aggregate type, keyed by
+ * aggregate id, the way it would be produced to a partitioned topic.
+ */
+@Component
+public class LoggingOutboxSink implements OutboxSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        log.info("topic=crm.{} key={} type={} payload={}", message.aggregateType(), message.aggregateId(),
+                message.eventType(), message.payload());
+    }
+}
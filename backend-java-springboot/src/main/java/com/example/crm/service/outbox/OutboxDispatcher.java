@@ -0,0 +1,168 @@
+package com.example.crm.service.outbox;
+
+import com.example.crm.domain.model.OutboxEvent;
+import com.example.crm.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches. Each batch is claimed with SKIP LOCKED, delivered to every enabled
+ * sink and marked as published in one transaction. When a sink fails the batch rolls back, the
+ * failing event gets an attempt recorded, and the batch is claimed again on the next poll; events
+ * that reach the attempt limit stay in the table for inspection and are no longer dispatched.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository repository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate tx;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Timer deliveryLag;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public OutboxDispatcher(OutboxEventRepository repository, List<OutboxSink> sinks,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry,
+                            @Value("${crm.outbox.sinks:in-process}") List<String> enabledSinks,
+                            @Value("${crm.outbox.batch-size:100}") int batchSize,
+                            @Value("${crm.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${crm.outbox.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.sinks = enabledSinks.stream()
+                .map(name -> sinks.stream()
+                        .filter(sink -> sink.name().equals(name.trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown outbox sink: " + name)))
+                .toList();
+        this.tx = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from recording an outbox event to its delivery")
+                .register(registry);
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events waiting for delivery")
+                .register(registry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("Outbox events that reached the attempt limit")
+                .register(registry);
+        Gauge.builder("outbox.oldest.age", oldestPendingMillis, millis -> millis.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${crm.outbox.poll-interval-ms:500}")
+    public void poll() {
+        int delivered;
+        do {
+            delivered = dispatchBatch();
+        } while (delivered == batchSize);
+        refreshGauges();
+    }
+
+    int dispatchBatch() {
+        try {
+            Integer delivered = tx.execute(status -> {
+                List<OutboxEvent> batch = repository.claimPending(maxAttempts, batchSize);
+                for (OutboxEvent event : batch) {
+                    OutboxMessage message = OutboxMessage.of(event);
+                    for (OutboxSink sink : sinks) {
+                        try {
+                            sink.deliver(message);
+                        } catch (RuntimeException e) {
+                            throw new DeliveryException(event.getId(), sink.name(), e);
+                        }
+                    }
+                }
+                for (OutboxSink sink : sinks) {
+                    try {
+                        sink.flush();
+                    } catch (RuntimeException e) {
+                        throw new DeliveryException(null, sink.name(), e);
+                    }
+                }
+                Instant now = Instant.now();
+                for (OutboxEvent event : batch) {
+                    event.markPublished(now);
+                    deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                }
+                return batch.size();
+            });
+            if (delivered != null && delivered > 0) {
+                for (OutboxSink sink : sinks) {
+                    Counter.builder("outbox.delivered").tag("sink", sink.name()).register(registry).increment(delivered);
+                }
+            }
+            return delivered == null ? 0 : delivered;
+        } catch (DeliveryException e) {
+            Counter.builder("outbox.failures").tag("sink", e.sink).register(registry).increment();
+            log.warn("Outbox delivery to {} failed for event {}", e.sink, e.eventId, e.getCause());
+            if (e.eventId != null) {
+                recordFailure(e.eventId, e.getCause());
+            }
+            return 0;
+        }
+    }
+
+    private void recordFailure(Long eventId, Throwable cause) {
+        tx.executeWithoutResult(status -> repository.findById(eventId).ifPresent(event -> {
+            event.markFailed(String.valueOf(cause));
+            if (event.getAttempts() >= maxAttempts) {
+                log.error("Outbox event {} ({} {}) failed {} times and is no longer dispatched", event.getId(),
+                        event.getEventType(), event.getAggregateId(), event.getAttempts());
+            }
+        }));
+    }
+
+    private void refreshGauges() {
+        backlog.set(repository.countByPublishedAtIsNull());
+        parked.set(repository.countByPublishedAtIsNullAndAttemptsGreaterThanEqual(maxAttempts));
+        oldestPendingMillis.set(repository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+    }
+
+    @Scheduled(fixedDelayString = "${crm.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = tx.execute(status -> repository.deletePublishedBefore(Instant.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private static final class DeliveryException extends RuntimeException {
+        private final Long eventId;
+        private final String sink;
+
+        DeliveryException(Long eventId, String sink, RuntimeException cause) {
+            super(cause);
+            this.eventId = eventId;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.crm.service.outbox;
+
+import com.example.crm.domain.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * Detached copy of an outbox row handed to the sinks; {@code payload} is the JSON written by
+ * {@link OutboxService#append}.
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            Instant createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.crm.service.outbox;
+
+import com.example.crm.domain.model.OutboxEvent;
+import com.example.crm.domain.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records an event in the caller's transaction, so it is committed or rolled back together
+     * with the change it describes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        repository.save(new OutboxEvent(aggregateType, aggregateId, eventType, write(payload)));
+    }
+
+    /**
+     * Records one event per aggregate with JDBC batches, for bulk operations.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String aggregateType, String eventType, Map<Long, ?> payloadsByAggregateId) {
+        List<OutboxEvent> events = new ArrayList<>(payloadsByAggregateId.size());
+        payloadsByAggregateId.forEach((aggregateId, payload) ->
+                events.add(new OutboxEvent(aggregateType, aggregateId, eventType, write(payload))));
+        repository.insertAll(events);
+    }
+
+    /**
+     * Returns the undelivered events of the given types and keeps them locked until the caller's
+     * transaction ends; the dispatcher does not deliver them meanwhile.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessage> lockPending(String aggregateType, Collection<String> eventTypes) {
+        return repository.lockPending(aggregateType, eventTypes).stream().map(OutboxMessage::of).toList();
+    }
+
+    public <T> T read(OutboxMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.payload(), type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.crm.service.outbox;
+
+/**
+ * Destination of outbox events. Delivery is at least once: a batch that fails part-way is claimed
+ * again, so sinks see some messages twice and consumers must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    /** Name used in {@code crm.outbox.sinks}. */
+    String name();
+
+    void deliver(OutboxMessage message);
+
+    /** Called once per batch, before the delivered events are marked as published. */
+    default void flush() {}
+}
@@ -0,0 +1,61 @@
+package com.example.crm.service.reporting;
+
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recorded in the outbox by OrderService when an order starts or stops counting towards sales.
+ * Carries a snapshot so consumers never touch the (possibly deleted) entities.
+ * {@code sign} is 1 when the order is added and -1 when it is removed.
+ */
+public record OrderSalesEvent(Long orderId, LocalDate orderDate, Long customerId, BigDecimal totalAmount,
+                              List<Line> lines, int sign) {
+
+    public static final String AGGREGATE = "order";
+    public static final String PLACED = "OrderPlaced";
+    public static final String REMOVED = "OrderRemoved";
+
+    public record Line(Long productId, int quantity, BigDecimal lineTotal) {}
+
+    public String eventType() {
+        return sign < 0 ? REMOVED : PLACED;
+    }
+
+    /** The same order with the opposite effect, to take this event back out of the aggregates. */
+    public OrderSalesEvent reversed() {
+        return new OrderSalesEvent(orderId, orderDate, customerId, totalAmount, lines, -sign);
+    }
+
+    public static OrderSalesEvent placed(OrderHeader order) {
+        return of(order, 1);
+    }
+
+    public static OrderSalesEvent removed(OrderHeader order) {
+        return of(order, -1);
+    }
+
+    /** Cancelled orders were already removed from sales when they were cancelled. */
+    public static boolean counts(OrderHeader order) {
+        return order.getStatus() != OrderStatus.CANCELLED;
+    }
+
+    private static OrderSalesEvent of(OrderHeader order, int sign) {
+        List<Line> lines = order.getLines() == null ? List.of() : order.getLines().stream()
+                .map(OrderSalesEvent::line)
+                .toList();
+        return new OrderSalesEvent(order.getId(), order.getOrderDate(),
+                order.getCustomer() == null ? null : order.getCustomer().getId(),
+                order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount(), lines, sign);
+    }
+
+    private static Line line(OrderLine line) {
+        return new Line(line.getProduct() == null ? null : line.getProduct().getId(),
+                line.getQuantity() == null ? 0 : line.getQuantity(),
+                line.getLineTotal() == null ? BigDecimal.ZERO : line.getLineTotal());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.crm.service.reporting;
+
+import com.example.crm.domain.model.SalesDimension;
+import com.example.crm.domain.repository.SalesAggregateRepository;
+import com.example.crm.domain.repository.SalesDelta;
+import com.example.crm.service.outbox.OutboxMessage;
+import com.example.crm.service.outbox.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds order events delivered by the outbox into the daily aggregates. Runs inside the dispatcher
+ * transaction, so an order is counted exactly when its event is marked as published; a failure
+ * leaves the event pending and it is retried on the next poll.
+ */
+@Component
+public class SalesAggregateUpdater {
+    private static final Logger log = LoggerFactory.getLogger(SalesAggregateUpdater.class);
+    private static final List<String> EVENT_TYPES = List.of(OrderSalesEvent.PLACED, OrderSalesEvent.REMOVED);
+
+    private final SalesAggregateRepository repository;
+    private final OutboxService outbox;
+
+    public SalesAggregateUpdater(SalesAggregateRepository repository, OutboxService outbox) {
+        this.repository = repository;
+        this.outbox = outbox;
+    }
+
+    @EventListener
+    @Transactional
+    public void onOutboxMessage(OutboxMessage message) {
+        if (OrderSalesEvent.PLACED.equals(message.eventType()) || OrderSalesEvent.REMOVED.equals(message.eventType())) {
+            onOrderSales(outbox.read(message, OrderSalesEvent.class));
+        }
+    }
+
+    /**
+     * Locks the order events still waiting in the outbox, so the dispatcher cannot deliver any of
+     * them before the caller's transaction ends, and returns them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrderSalesEvent> lockPending() {
+        return outbox.lockPending(OrderSalesEvent.AGGREGATE, EVENT_TYPES).stream()
+                .map(message -> outbox.read(message, OrderSalesEvent.class))
+                .toList();
+    }
+
+    /**
+     * Takes the pending order events dated in the range back out of buckets that were just
+     * recomputed from the order tables. The order tables already reflect those events, and the
+     * dispatcher applies each of them once more when it delivers it. Returns the number of events
+     * reversed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reversePending(LocalDate from, LocalDate to) {
+        List<SalesDelta> deltas = new ArrayList<>();
+        int reversed = 0;
+        for (OrderSalesEvent event : lockPending()) {
+            LocalDate date = event.orderDate();
+            if (date != null && !date.isBefore(from) && !date.isAfter(to)) {
+                deltas.addAll(deltas(event.reversed()));
+                reversed++;
+            }
+        }
+        if (!deltas.isEmpty()) {
+            repository.apply(deltas);
+        }
+        return reversed;
+    }
+
+    void onOrderSales(OrderSalesEvent event) {
+        if (event.orderDate() == null) {
+            return;
+        }
+        try {
+            repository.apply(deltas(event));
+        } catch (RuntimeException e) {
+            log.error("Failed to update sales aggregates for order {} on {}", event.orderId(), event.orderDate(), e);
+            throw e;
+        }
+    }
+
+    List<SalesDelta> deltas(OrderSalesEvent event) {
+        LocalDate date = event.orderDate();
+        int sign = event.sign();
+        long units = event.lines().stream().mapToLong(OrderSalesEvent.Line::quantity).sum();
+        List<SalesDelta> deltas = new ArrayList<>();
+        deltas.add(new SalesDelta(SalesDimension.TOTAL, 0, date, signed(event.totalAmount(), sign), sign, sign * units));
+        if (event.customerId() != null) {
+            deltas.add(new SalesDelta(SalesDimension.CUSTOMER, event.customerId(), date,
+                    signed(event.totalAmount(), sign), sign, sign * units));
+        }
+
+        // A product or category counts an order once, however many of its lines it appears on
+        Map<Long, Totals> byProduct = new HashMap<>();
+        for (OrderSalesEvent.Line line : event.lines()) {
+            if (line.productId() != null) {
+                byProduct.computeIfAbsent(line.productId(), id -> new Totals()).add(line);
+            }
+        }
+        byProduct.forEach((productId, totals) -> deltas.add(totals.delta(SalesDimension.PRODUCT, productId, date, sign)));
+
+        Set<Long> productIds = byProduct.keySet();
+        Map<Long, Long> categoryIds = repository.findCategoryIds(productIds);
+        Map<Long, Totals> byCategory = new HashMap<>();
+        for (OrderSalesEvent.Line line : event.lines()) {
+            Long categoryId = line.productId() == null ? null : categoryIds.get(line.productId());
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, id -> new Totals()).add(line);
+            }
+        }
+        byCategory.forEach((categoryId, totals) -> deltas.add(totals.delta(SalesDimension.CATEGORY, categoryId, date, sign)));
+        return deltas;
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+
+    private static final class Totals {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long units;
+
+        void add(OrderSalesEvent.Line line) {
+            revenue = revenue.add(line.lineTotal());
+            units += line.quantity();
+        }
+
+        SalesDelta delta(SalesDimension dimension, long id, LocalDate date, int sign) {
+            return new SalesDelta(dimension, id, date, signed(revenue, sign), sign, sign * units);
+        }
+    }
+}
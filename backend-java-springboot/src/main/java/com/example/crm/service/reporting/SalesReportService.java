@@ -0,0 +1,88 @@
+package com.example.crm.service.reporting;
+
+import com.example.crm.domain.model.SalesDailyAggregate;
+import com.example.crm.domain.model.SalesDimension;
+import com.example.crm.domain.repository.SalesAggregateRepository;
+import com.example.crm.domain.repository.SalesTotals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Sales reports served from the daily aggregates: the cost depends on the number of days and
+ * entities in the range, not on the number of orders.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SalesReportService {
+    private static final Logger log = LoggerFactory.getLogger(SalesReportService.class);
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    private final SalesAggregateRepository repository;
+    private final SalesAggregateUpdater updater;
+
+    public SalesReportService(SalesAggregateRepository repository, SalesAggregateUpdater updater) {
+        this.repository = repository;
+        this.updater = updater;
+    }
+
+    public List<SalesDailyAggregate> daily(SalesDimension dimension, long dimensionId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return repository.findByDimensionAndDimensionIdAndBucketDateBetweenOrderByBucketDate(dimension,
+                dimension == SalesDimension.TOTAL ? 0L : dimensionId, from, to);
+    }
+
+    public SalesTotals totals(List<SalesDailyAggregate> days, long dimensionId) {
+        BigDecimal revenue = BigDecimal.ZERO;
+        long orders = 0;
+        long units = 0;
+        for (SalesDailyAggregate day : days) {
+            revenue = revenue.add(day.getRevenue());
+            orders += day.getOrderCount();
+            units += day.getUnits();
+        }
+        return new SalesTotals(dimensionId, revenue, orders, units);
+    }
+
+    public List<SalesTotals> top(SalesDimension dimension, LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        if (dimension == SalesDimension.TOTAL) {
+            throw new IllegalArgumentException("Ranking needs a customer, product or category dimension");
+        }
+        return repository.findTopByRevenue(dimension, from, to, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Backfill: recomputes the range from the order tables in one transaction. Order events still in
+     * the outbox are locked first, so none is delivered mid-rebuild, and are taken back out of the
+     * recomputed buckets; the dispatcher adds them again when it delivers them after the commit.
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        long started = System.currentTimeMillis();
+        updater.lockPending();
+        int buckets = repository.rebuild(from, to);
+        // Locks again to include orders that committed while the range was being recomputed
+        int reversed = updater.reversePending(from, to);
+        log.info("Rebuilt {} sales buckets from {} to {} in {} ms ({} undelivered order events held back)",
+                buckets, from, to, System.currentTimeMillis() - started, reversed);
+        return buckets;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Customer;
+
+/**
+ * Published by CustomerService when a customer is saved or deleted ({@code customer} is null).
+ */
+public record CustomerChangedEvent(Long customerId, Customer customer) {
+
+    public static CustomerChangedEvent saved(Customer customer) {
+        return new CustomerChangedEvent(customer.getId(), customer);
+    }
+
+    public static CustomerChangedEvent deleted(Long customerId) {
+        return new CustomerChangedEvent(customerId, null);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.repository.CustomerRepository;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over customer first name, last name and email. Each trigram maps to
+ * a compressed 64-bit bitmap of customer ids, so snowflake ids fit as well as sequential ones.
+ * A substring lookup intersects the bitmaps of the term's trigrams and verifies the few remaining
+ * candidates, so no LIKE scan or COUNT query is needed. Terms shorter than three characters are
+ * left to the database.
+ * <p>
+ * A rebuild fills a fresh index off to the side and swaps it in. Changes that arrive meanwhile are
+ * applied to the live index and also queued; they are replayed onto the fresh index at the swap, so
+ * a rebuild that read a customer before it changed cannot bring back the stale row.
+ */
+@Component
+public class CustomerLookupIndex {
+    private static final Logger log = LoggerFactory.getLogger(CustomerLookupIndex.class);
+    private static final int GRAM = 3;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final Set<String> SORTABLE = Set.of("id", "firstName", "lastName", "email");
+
+    private final CustomerRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    // Changes made while a rebuild is running, in arrival order; null when no rebuild is running
+    private List<Change> pending;
+    private volatile boolean ready;
+
+    public CustomerLookupIndex(CustomerRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean supports(String term, Sort sort) {
+        return ready && term.trim().length() >= GRAM
+                && sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+
+    /**
+     * Returns the ids of all customers matching the term, ordered by {@code sort}. With
+     * {@code namesOnly} only "first last" is matched, otherwise names and email.
+     */
+    public List<Long> search(String term, boolean namesOnly, Sort sort) {
+        String needle = normalize(term);
+        Set<String> grams = trigrams(needle);
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        List<Entry> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Roaring64NavigableMap> lists = new ArrayList<>();
+            for (String gram : grams) {
+                Roaring64NavigableMap posting = postings.byGram.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+            Roaring64NavigableMap candidates = lists.get(0);
+            if (lists.size() > 1) {
+                // and() works in place, so intersect a copy rather than the smallest posting itself
+                candidates = new Roaring64NavigableMap();
+                candidates.or(lists.get(0));
+                for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                    candidates.and(lists.get(i));
+                }
+            }
+            candidates.forEach((long id) -> {
+                Entry entry = postings.entries.get(id);
+                if (entry != null && entry.matches(needle, namesOnly)) {
+                    matches.add(entry);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        Comparator<Entry> order = comparator(sort);
+        if (order != null) {
+            matches.sort(order);
+        }
+        return matches.stream().map(Entry::id).toList();
+    }
+
+    public void put(Customer customer) {
+        apply(Change.put(customer));
+    }
+
+    public void remove(Long customerId) {
+        apply(new Change(customerId, null));
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            postings.apply(change);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.customer() == null) {
+            remove(event.customerId());
+        } else {
+            put(event.customer());
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CustomersImportedEvent.class})
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Postings fresh = new Postings();
+        try {
+            long lastId = 0;
+            Slice<Customer> batch;
+            do {
+                batch = repository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Customer customer : batch) {
+                    fresh.apply(Change.put(customer));
+                    lastId = customer.getId();
+                }
+            } while (batch.hasNext());
+            fresh.byGram.values().forEach(Roaring64NavigableMap::runOptimize);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        int size;
+        lock.writeLock().lock();
+        try {
+            pending.forEach(fresh::apply);
+            pending = null;
+            postings = fresh;
+            size = fresh.entries.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Indexed {} customers in {} ms", size, System.currentTimeMillis() - started);
+    }
+
+    private static Comparator<Entry> comparator(Sort sort) {
+        Comparator<Entry> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> next = switch (order.getProperty()) {
+                case "firstName" -> Comparator.comparing(Entry::firstName);
+                case "lastName" -> Comparator.comparing(Entry::lastName);
+                case "email" -> Comparator.comparing(Entry::email);
+                default -> Comparator.comparingLong(Entry::id);
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+        final Map<String, Roaring64NavigableMap> byGram = new HashMap<>();
+        final Map<Long, Entry> entries = new HashMap<>();
+
+        void apply(Change change) {
+            remove(change.id());
+            Entry entry = change.entry();
+            if (entry == null) {
+                return;
+            }
+            entries.put(entry.id(), entry);
+            for (String gram : entry.trigrams()) {
+                byGram.computeIfAbsent(gram, g -> new Roaring64NavigableMap()).addLong(entry.id());
+            }
+        }
+
+        private void remove(long id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.trigrams()) {
+                Roaring64NavigableMap posting = byGram.get(gram);
+                if (posting != null) {
+                    posting.removeLong(id);
+                    if (posting.isEmpty()) {
+                        byGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    // A customer's new state, or its removal when entry is null
+    private record Change(long id, Entry entry) {
+
+        static Change put(Customer customer) {
+            long id = customer.getId();
+            return new Change(id, new Entry(id, normalize(customer.getFirstName()), normalize(customer.getLastName()),
+                    normalize(customer.getEmail())));
+        }
+    }
+
+    private record Entry(long id, String firstName, String lastName, String email) {
+
+        String fullName() {
+            return firstName + " " + lastName;
+        }
+
+        boolean matches(String needle, boolean namesOnly) {
+            if (fullName().contains(needle)) {
+                return true;
+            }
+            return !namesOnly && email.contains(needle);
+        }
+
+        Set<String> trigrams() {
+            Set<String> grams = CustomerLookupIndex.trigrams(fullName());
+            grams.addAll(CustomerLookupIndex.trigrams(email));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.crm.service.search;
+
+/**
+ * Published after a bulk import wrote customers outside the persistence context; the index must be rebuilt.
+ */
+public record CustomersImportedEvent(long count) {}
@@ -0,0 +1,25 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@ConditionalOnProperty(name = "crm.search.products.engine", havingValue = "jpa")
+@Transactional(readOnly = true)
+public class JpaProductSearchService implements ProductSearchService {
+    private final ProductRepository repository;
+
+    public JpaProductSearchService(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Page<Product> search(String text, Pageable pageable) {
+        return repository.findBySearchTerm(text.trim(), pageable);
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index over product name, SKU and description. Name and SKU are indexed as
+ * edge n-grams so partial words match; description matches on word prefixes. The index is
+ * rebuilt from the database at startup and kept in sync from {@link ProductChangedEvent}s
+ * after each commit. {@code crm.search.products.index-path} moves it from the heap to disk.
+ * <p>
+ * A rebuild writes a fresh index into a separate directory, then swaps its segments into the live
+ * index and replays the changes that arrived meanwhile, all under the lock the change listener takes.
+ * Searches keep seeing the previous index until the swap commits, and a product the rebuild read
+ * before it changed cannot come back as a stale second document.
+ */
+@Service
+@ConditionalOnProperty(name = "crm.search.products.engine", havingValue = "lucene", matchIfMissing = true)
+public class LuceneProductSearchService implements ProductSearchService {
+    private static final Logger log = LoggerFactory.getLogger(LuceneProductSearchService.class);
+
+    private static final String ID = "id";
+    private static final String SKU = "sku";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 20;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository repository;
+    private final Analyzer queryAnalyzer = new StandardAnalyzer();
+    private final Analyzer indexAnalyzer;
+    private final Directory directory;
+    // Where rebuilds write the fresh index; null keeps it on the heap
+    private final Path rebuildPath;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Guards writes to the live index and the pending list
+    private final Lock lock = new ReentrantLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    // Changes made while a rebuild is running, in arrival order; null when no rebuild is running
+    private List<ProductChangedEvent> pending;
+
+    public LuceneProductSearchService(ProductRepository repository,
+                                      @Value("${crm.search.products.index-path:}") String indexPath) throws IOException {
+        this.repository = repository;
+        if (StringUtils.hasText(indexPath)) {
+            Path path = Path.of(indexPath).toAbsolutePath();
+            this.directory = FSDirectory.open(path);
+            this.rebuildPath = path.resolveSibling(path.getFileName() + "-rebuild");
+        } else {
+            this.directory = new ByteBuffersDirectory();
+            this.rebuildPath = null;
+        }
+        Analyzer prefixAnalyzer = edgeNGramAnalyzer();
+        this.indexAnalyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(),
+                Map.of(NAME, prefixAnalyzer, SKU, prefixAnalyzer));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer));
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> search(String text, Pageable pageable) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int offset = (int) pageable.getOffset();
+                TopDocs top = searcher.search(query, offset + pageable.getPageSize());
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(top.scoreDocs[i].doc).get(ID)));
+                }
+                return new PageImpl<>(loadInRankOrder(ids), pageable, searcher.count(query));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product search failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(writer, event);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to update search index for product {}", event.productId(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ProductsImportedEvent.class})
+    public void rebuild() throws IOException {
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            setPending(new ArrayList<>());
+            long count = 0;
+            try (Directory fresh = rebuildPath == null ? new ByteBuffersDirectory() : FSDirectory.open(rebuildPath)) {
+                try {
+                    try (IndexWriter freshWriter = new IndexWriter(fresh,
+                            new IndexWriterConfig(indexAnalyzer).setOpenMode(OpenMode.CREATE))) {
+                        count = indexAll(freshWriter);
+                    }
+                    lock.lock();
+                    try {
+                        writer.deleteAll();
+                        writer.addIndexes(fresh);
+                        for (ProductChangedEvent change : pending) {
+                            apply(writer, change);
+                        }
+                        writer.commit();
+                        searcherManager.maybeRefresh();
+                    } finally {
+                        lock.unlock();
+                    }
+                } finally {
+                    for (String file : fresh.listAll()) {
+                        fresh.deleteFile(file);
+                    }
+                }
+            } finally {
+                setPending(null);
+            }
+            log.info("Indexed {} products in {} ms", count, System.currentTimeMillis() - started);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private long indexAll(IndexWriter target) throws IOException {
+        long lastId = 0;
+        long count = 0;
+        Slice<Product> batch;
+        do {
+            batch = repository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Product product : batch) {
+                target.addDocument(toDocument(product));
+                lastId = product.getId();
+                count++;
+            }
+        } while (batch.hasNext());
+        return count;
+    }
+
+    private void setPending(List<ProductChangedEvent> changes) {
+        lock.lock();
+        try {
+            pending = changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(IndexWriter target, ProductChangedEvent change) throws IOException {
+        Term idTerm = new Term(ID, String.valueOf(change.productId()));
+        if (change.product() == null) {
+            target.deleteDocuments(idTerm);
+        } else {
+            target.updateDocument(idTerm, toDocument(change.product()));
+        }
+    }
+
+    private Query buildQuery(String text) {
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        // Every token has to match somewhere; SKU and name hits rank above description hits
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            BooleanQuery tokenQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(gramQuery(SKU, token), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(gramQuery(NAME, token), 3f), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(DESCRIPTION, token)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(tokenQuery, BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static Query gramQuery(String field, String token) {
+        if (token.length() < MIN_GRAM) {
+            return new PrefixQuery(new Term(field, token));
+        }
+        return new TermQuery(new Term(field, token.length() > MAX_GRAM ? token.substring(0, MAX_GRAM) : token));
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (!StringUtils.hasText(text)) {
+            return tokens;
+        }
+        try (TokenStream stream = queryAnalyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private List<Product> loadInRankOrder(List<Long> ids) {
+        Map<Long, Product> byId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static Document toDocument(Product product) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.YES));
+        if (product.getSku() != null) {
+            doc.add(new TextField(SKU, product.getSku(), Field.Store.NO));
+        }
+        if (product.getName() != null) {
+            doc.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        }
+        if (product.getDescription() != null) {
+            doc.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private static Analyzer edgeNGramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new LowerCaseFilter(tokenizer);
+                stream = new EdgeNGramTokenFilter(stream, MIN_GRAM, MAX_GRAM, true);
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+}
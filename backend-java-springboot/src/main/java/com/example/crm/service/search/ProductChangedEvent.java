@@ -0,0 +1,17 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Product;
+
+/**
+ * Published by ProductService when a product is saved or deleted ({@code product} is null).
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+}
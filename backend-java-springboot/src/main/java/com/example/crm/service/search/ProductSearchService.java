@@ -0,0 +1,14 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Catalog search. The engine is chosen with {@code crm.search.products.engine}
+ * ({@code lucene} by default, {@code jpa} for the LIKE-based repository query).
+ */
+public interface ProductSearchService {
+
+    Page<Product> search(String text, Pageable pageable);
+}
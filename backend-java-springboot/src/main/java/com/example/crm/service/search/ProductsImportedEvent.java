@@ -0,0 +1,6 @@
+package com.example.crm.service.search;
+
+/**
+ * Published after a bulk import wrote products outside the persistence context; the index must be rebuilt.
+ */
+public record ProductsImportedEvent(long count) {}
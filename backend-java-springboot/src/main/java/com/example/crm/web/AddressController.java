@@ -2,6 +2,7 @@ package com.example.crm.web;
 
 import com.example.crm.domain.model.Address;
 import com.example.crm.service.AddressService;
+import com.example.crm.web.dto.CursorPage;
 import com.example.crm.web.dto.AddressDto;
 import com.example.crm.web.dto.AddressMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 
@@ -41,7 +43,8 @@ public class AddressController {
             @RequestParam(required = false, defaultValue = "10") int size,
             @Parameter(in = ParameterIn.QUERY, description = "Sort criteria (field,direction)", example = "street,asc", required = false)
             @RequestParam(required = false, defaultValue = "id,asc") String sort,
-            @PageableDefault(size = 10, sort = "id") Pageable pageable) {
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            WebRequest request) {
         
         // Parse sort parameter
         String[] sortParts = sort.split(",");
@@ -50,7 +53,23 @@ public class AddressController {
                 ? Sort.Direction.DESC : Sort.Direction.ASC;
         
         Pageable customPageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-        return service.findAll(customPageable).map(mapper::toDto);
+        Page<Address> addresses = service.findAll(customPageable);
+        if (request.checkNotModified(ConditionalRequests.etag(addresses, ConditionalRequests::etag))) {
+            return null;
+        }
+        return addresses.map(mapper::toDto);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll addresses", description = "Keyset pagination without a count query, stable under concurrent inserts")
+    public CursorPage<AddressDto> scroll(
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor from the previous response; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Page size", example = "10")
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @Parameter(in = ParameterIn.QUERY, description = "Sort criteria for the first page (field,direction)", example = "city,asc")
+            @RequestParam(required = false, defaultValue = "id,asc") String sort) {
+        return CursorPage.of(service.scroll(KeysetParams.cursor(cursor, sort), KeysetParams.size(size)), mapper::toDto);
     }
 
     @GetMapping("/search")
@@ -83,8 +102,13 @@ public class AddressController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get address by ID", description = "Retrieve a specific address by its ID")
-    public AddressDto get(@PathVariable Long id) {
-        return mapper.toDto(service.findById(id));
+    public AddressDto get(@PathVariable Long id, WebRequest request) {
+        Address address = service.findById(id);
+        if (request.checkNotModified(ConditionalRequests.etag(address),
+                ConditionalRequests.lastModified(address.getUpdatedAt()))) {
+            return null;
+        }
+        return mapper.toDto(address);
     }
 
     @PostMapping
@@ -97,15 +121,16 @@ public class AddressController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Update address", description = "Update an existing address")
-    public AddressDto update(@PathVariable Long id, @Valid @RequestBody AddressDto dto) {
-        Address updated = service.update(id, mapper.toEntity(dto));
+    public AddressDto update(@PathVariable Long id, @Valid @RequestBody AddressDto dto, WebRequest request) {
+        Address updated = service.update(id, mapper.toEntity(dto),
+                ConditionalRequests.ifMatchVersion(request, id));
         return mapper.toDto(updated);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete address", description = "Delete an address by ID")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, WebRequest request) {
+        service.delete(id, ConditionalRequests.ifMatchVersion(request, id));
         return ResponseEntity.noContent().build();
     }
 }
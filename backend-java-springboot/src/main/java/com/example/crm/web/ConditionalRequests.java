@@ -0,0 +1,111 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.model.Address;
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.model.ProductSubCategory;
+import com.example.crm.exception.PreconditionFailedException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Validators for conditional GETs and If-Match on writes. ETags are derived from the entity id and
+ * its optimistic-lock version, so they are computed before any DTO mapping and change with every
+ * write, however close together. Last-Modified stays at second precision, the precision of the header.
+ * ETags are weak because the same version is served as gzip, JSON, CBOR or Smile; they still
+ * identify the stored version exactly, so If-Match compares them ignoring the weak flag.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {}
+
+    static String etag(Customer customer) {
+        return etag(customer.getId(), customer.getVersion());
+    }
+
+    static String etag(Address address) {
+        return etag(address.getId(), address.getVersion());
+    }
+
+    /** Stock reservations and releases are JDBC updates; they increment the version too. */
+    static String etag(Product product) {
+        return etag(product.getId(), product.getVersion());
+    }
+
+    static String etag(ProductSubCategory subCategory) {
+        return etag(subCategory.getId(), subCategory.getVersion());
+    }
+
+    /** Bulk status updates increment the version as well. */
+    static String etag(OrderHeader order) {
+        return etag(order.getId(), order.getVersion());
+    }
+
+    /** Covers the page position, the total and every entity on the page; rows outside the page do not matter. */
+    static <T> String etag(Page<T> page, Function<T, String> entityEtag) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getNumber()).append('/').append(page.getSize()).append('/').append(page.getTotalElements());
+        for (T entity : page.getContent()) {
+            state.append(',').append(entityEtag.apply(entity));
+        }
+        return quote(DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static long lastModified(Instant modified) {
+        return modified == null ? -1 : modified.getEpochSecond() * 1000;
+    }
+
+    /**
+     * The version an If-Match header requires of resource {@code id}, or null when there is no
+     * header or it is "*". The caller hands it to the service, which compares it with the row it
+     * writes inside its transaction. A header that names no version of this resource cannot match
+     * and is rejected with 412 here, as is one naming several versions, since the service checks
+     * exactly one.
+     */
+    static Long ifMatchVersion(WebRequest request, Long id) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return null;
+        }
+        String prefix = "\"" + id + "-v";
+        Set<Long> versions = new HashSet<>();
+        for (String requested : ifMatch.split(",")) {
+            String tag = opaque(requested.trim());
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of ours; it cannot match
+                }
+            }
+        }
+        if (versions.size() != 1) {
+            throw new PreconditionFailedException("The resource has been modified since it was read");
+        }
+        return versions.iterator().next();
+    }
+
+    private static String etag(Long id, Long version) {
+        return quote(id + "-v" + (version == null ? 0 : version));
+    }
+
+    private static String quote(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.crm.web;
 
 import com.example.crm.domain.model.Customer;
 import com.example.crm.service.CustomerService;
+import com.example.crm.web.dto.CursorPage;
 import com.example.crm.web.dto.CustomerDto;
 import com.example.crm.web.dto.CustomerMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,8 +17,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/customers")
@@ -41,7 +44,8 @@ public class CustomerController {
             @RequestParam(required = false, defaultValue = "10") int size,
             @Parameter(in = ParameterIn.QUERY, description = "Sort criteria (field,direction)", example = "lastName,asc", required = false)
             @RequestParam(required = false, defaultValue = "id,asc") String sort,
-            @PageableDefault(size = 10, sort = "id") Pageable pageable) {
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            WebRequest request) {
         
         // Parse sort parameter
         String[] sortParts = sort.split(",");
@@ -50,7 +54,23 @@ public class CustomerController {
                 ? Sort.Direction.DESC : Sort.Direction.ASC;
         
         Pageable customPageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-        return service.findAll(customPageable).map(mapper::toDto);
+        Page<Customer> customers = service.findAll(customPageable);
+        if (request.checkNotModified(ConditionalRequests.etag(customers, ConditionalRequests::etag))) {
+            return null;
+        }
+        return customers.map(mapper::toDto);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll customers", description = "Keyset pagination without a count query, stable under concurrent inserts")
+    public CursorPage<CustomerDto> scroll(
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor from the previous response; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Page size", example = "10")
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @Parameter(in = ParameterIn.QUERY, description = "Sort criteria for the first page (field,direction)", example = "lastName,asc")
+            @RequestParam(required = false, defaultValue = "id,asc") String sort) {
+        return CursorPage.of(service.scroll(KeysetParams.cursor(cursor, sort), KeysetParams.size(size)), mapper::toDto);
     }
 
     @GetMapping("/search")
@@ -81,10 +101,25 @@ public class CustomerController {
         return service.search(q, email, name, city, pageable).map(mapper::toDto);
     }
 
+    @GetMapping("/lookup")
+    @Operation(summary = "Customer typeahead", description = "Substring match on first name, last name or email")
+    public List<CustomerDto> lookup(
+            @Parameter(in = ParameterIn.QUERY, description = "Search term", example = "doe")
+            @RequestParam String q,
+            @Parameter(in = ParameterIn.QUERY, description = "Maximum number of results", example = "10")
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        return service.lookup(q, Math.min(limit, 100)).stream().map(mapper::toDto).toList();
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID", description = "Retrieve a specific customer by their ID")
-    public CustomerDto get(@PathVariable Long id) {
-        return mapper.toDto(service.findById(id));
+    public CustomerDto get(@PathVariable Long id, WebRequest request) {
+        Customer customer = service.findById(id);
+        if (request.checkNotModified(ConditionalRequests.etag(customer),
+                ConditionalRequests.lastModified(customer.getUpdatedAt()))) {
+            return null;
+        }
+        return mapper.toDto(customer);
     }
 
     @PostMapping
@@ -97,15 +132,16 @@ public class CustomerController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Update customer", description = "Update an existing customer")
-    public CustomerDto update(@PathVariable Long id, @Valid @RequestBody CustomerDto dto) {
-        Customer updated = service.update(id, mapper.toEntity(dto));
+    public CustomerDto update(@PathVariable Long id, @Valid @RequestBody CustomerDto dto, WebRequest request) {
+        Customer updated = service.update(id, mapper.toEntity(dto),
+                ConditionalRequests.ifMatchVersion(request, id));
         return mapper.toDto(updated);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete customer", description = "Delete a customer by ID")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, WebRequest request) {
+        service.delete(id, ConditionalRequests.ifMatchVersion(request, id));
         return ResponseEntity.noContent().build();
     }
 }
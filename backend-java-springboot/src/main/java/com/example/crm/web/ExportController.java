@@ -0,0 +1,150 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.repository.OrderExportRow;
+import com.example.crm.service.ExportService;
+import com.example.crm.web.dto.CustomerMapper;
+import com.example.crm.web.dto.OrderHeaderDto;
+import com.example.crm.web.dto.OrderLineDto;
+import com.example.crm.web.dto.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@Tag(name = "Export", description = "Streaming full-table exports")
+public class ExportController {
+
+    private final ExportService service;
+    private final CustomerMapper customerMapper;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    public ExportController(ExportService service, CustomerMapper customerMapper, ProductMapper productMapper,
+                            ObjectMapper objectMapper) {
+        this.service = service;
+        this.customerMapper = customerMapper;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/customers")
+    @Operation(summary = "Export customers", description = "Stream all matching customers as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> customers(
+            @Parameter(in = ParameterIn.QUERY, description = "Output format (csv or ndjson)", example = "csv")
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String city,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream("customers", ExportFormat.parse(format), acceptEncoding, writer ->
+                service.customers(q, email, name, city, customer -> writer.write(customerMapper.toDto(customer))));
+    }
+
+    @GetMapping("/products")
+    @Operation(summary = "Export products", description = "Stream all matching products as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> products(
+            @Parameter(in = ParameterIn.QUERY, description = "Output format (csv or ndjson)", example = "csv")
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long subCategoryId,
+            @RequestParam(required = false) Boolean active,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream("products", ExportFormat.parse(format), acceptEncoding, writer ->
+                service.products(q, subCategoryId, active, product -> writer.write(productMapper.toDto(product))));
+    }
+
+    @GetMapping("/orders")
+    @Operation(summary = "Export orders", description = "CSV has one row per order line; NDJSON has one order with its lines per row")
+    public ResponseEntity<StreamingResponseBody> orders(
+            @Parameter(in = ParameterIn.QUERY, description = "Output format (csv or ndjson)", example = "csv")
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return stream("orders", exportFormat, acceptEncoding, writer -> {
+            if (exportFormat == ExportFormat.CSV) {
+                service.orders(customerId, status, startDate, endDate, writer::write);
+            } else {
+                OrderGrouper grouper = new OrderGrouper(writer);
+                service.orders(customerId, status, startDate, endDate, grouper);
+                grouper.flush();
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, String acceptEncoding,
+                                                         Consumer<ExportWriter> body) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "-" + LocalDate.now() + "." + format.extension).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            try (ExportWriter writer = ExportWriter.of(format, gzip ? gzip(out) : out, objectMapper)) {
+                body.accept(writer);
+            }
+        });
+    }
+
+    private static OutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, 64 * 1024);
+    }
+
+    // Rows arrive ordered by order id, so only the order currently being assembled is held in memory
+    private static final class OrderGrouper implements Consumer<OrderExportRow> {
+        private final ExportWriter writer;
+        private OrderExportRow current;
+        private List<OrderLineDto> lines = new ArrayList<>();
+
+        OrderGrouper(ExportWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(OrderExportRow row) {
+            if (current != null && !current.orderId().equals(row.orderId())) {
+                flush();
+            }
+            current = row;
+            if (row.lineId() != null) {
+                lines.add(new OrderLineDto(row.productId(), row.quantity(), row.unitPrice(), row.lineTotal()));
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                writer.write(new OrderHeaderDto(current.orderId(), current.orderDate(), current.status(),
+                        current.customerId(), lines, current.totalAmount(), current.version()));
+                current = null;
+                lines = new ArrayList<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.crm.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes records one at a time as CSV (header taken from the record components) or NDJSON.
+ * Nothing is buffered beyond the underlying writer, so output size does not affect memory.
+ */
+abstract class ExportWriter implements AutoCloseable {
+
+    static ExportWriter of(ExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        return format == ExportFormat.CSV ? new Csv(writer) : new Ndjson(writer, objectMapper);
+    }
+
+    protected final Writer writer;
+
+    private ExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /** Writes one row; I/O failures are rethrown unchecked so this can be used as a stream sink. */
+    final void write(Record row) {
+        try {
+            writeRow(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void writeRow(Record row) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static final class Csv extends ExportWriter {
+        private boolean headerWritten;
+
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        protected void writeRow(Record row) throws IOException {
+            RecordComponent[] components = row.getClass().getRecordComponents();
+            if (!headerWritten) {
+                for (int i = 0; i < components.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(components[i].getName());
+                }
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(value(row, components[i])));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String value(Record row, RecordComponent component) {
+            try {
+                Object value = component.getAccessor().invoke(row);
+                return value == null ? "" : value.toString();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + component.getName(), e);
+            }
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class Ndjson extends ExportWriter {
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected void writeRow(Record row) throws IOException {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+}
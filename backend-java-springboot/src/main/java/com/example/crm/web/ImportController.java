@@ -0,0 +1,68 @@
+package com.example.crm.web;
+
+import com.example.crm.service.BulkImportService;
+import com.example.crm.service.ImportJob;
+import com.example.crm.web.dto.ImportJobDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@Tag(name = "Import", description = "Bulk product and customer imports")
+public class ImportController {
+
+    private final BulkImportService service;
+
+    public ImportController(BulkImportService service) {
+        this.service = service;
+    }
+
+    @PostMapping(value = "/{type}", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Start an import",
+            description = "Upload a CSV (with header) or NDJSON file of products or customers; fields use the API names")
+    public ResponseEntity<ImportJobDto> submit(
+            @Parameter(description = "products or customers", example = "products")
+            @PathVariable String type,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        ImportJob job = service.submit(parseType(type), parseFormat(contentType), body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/imports/" + job.getId()))
+                .body(ImportJobDto.of(job));
+    }
+
+    @GetMapping
+    @Operation(summary = "List imports", description = "Progress of the imports run since startup")
+    public List<ImportJobDto> list() {
+        return service.findJobs().stream().map(ImportJobDto::summary).toList();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import progress", description = "Progress, throughput and per-row errors of an import")
+    public ImportJobDto get(@PathVariable String id) {
+        return ImportJobDto.of(service.findJob(id));
+    }
+
+    private static ImportJob.Type parseType(String type) {
+        try {
+            return ImportJob.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported import type: " + type);
+        }
+    }
+
+    private static ImportJob.Format parseFormat(MediaType contentType) {
+        return "csv".equalsIgnoreCase(contentType.getSubtype()) ? ImportJob.Format.CSV : ImportJob.Format.NDJSON;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.crm.web;
+
+import com.example.crm.service.inventory.InventoryLedger;
+import com.example.crm.service.inventory.LowStockMonitor;
+import com.example.crm.web.dto.InventoryMapper;
+import com.example.crm.web.dto.InventoryMovementDto;
+import com.example.crm.web.dto.LowStockDto;
+import com.example.crm.web.dto.StockAtDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+@Tag(name = "Inventory", description = "Low-stock alert and stock ledger API")
+public class InventoryController {
+
+    private final LowStockMonitor monitor;
+    private final LowStockAlertStream stream;
+    private final InventoryLedger ledger;
+    private final InventoryMapper mapper;
+
+    public InventoryController(LowStockMonitor monitor, LowStockAlertStream stream, InventoryLedger ledger,
+                               InventoryMapper mapper) {
+        this.monitor = monitor;
+        this.stream = stream;
+        this.ledger = ledger;
+        this.mapper = mapper;
+    }
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Low-stock products", description = "Products at or below their threshold, lowest stock first")
+    public List<LowStockDto> lowStock() {
+        return mapper.toDto(monitor.lowStock());
+    }
+
+    @GetMapping(path = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Low-stock alert stream",
+            description = "Server-sent events: a snapshot of the low-stock products, then an alert per change")
+    public SseEmitter stream() {
+        return stream.subscribe(() -> mapper.toDto(monitor.lowStock()));
+    }
+
+    @GetMapping("/products/{productId}/movements")
+    @Operation(summary = "Stock movements", description = "Ledger entries of a product in a time range, newest first")
+    public Slice<InventoryMovementDto> movements(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(required = false, defaultValue = "50") int size) {
+        return ledger.history(productId, from != null ? from : Instant.EPOCH, to != null ? to : Instant.now(),
+                        PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 500))))
+                .map(mapper::toDto);
+    }
+
+    @GetMapping("/products/{productId}/stock")
+    @Operation(summary = "Stock at a time", description = "Replays the ledger from the latest snapshot before the given time")
+    public StockAtDto stockAt(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        return mapper.toDto(ledger.stockAt(productId, at != null ? at : Instant.now()));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild stock", description = "Incident recovery: restore stock quantities from the ledger")
+    public Map<String, Object> rebuild(
+            @Parameter(description = "Products to rebuild; omit for all")
+            @RequestParam(required = false) List<Long> productIds) {
+        return Map.of("corrected", ledger.rebuild(productIds));
+    }
+}
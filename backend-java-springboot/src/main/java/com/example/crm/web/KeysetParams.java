@@ -0,0 +1,30 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.repository.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Request parameter handling shared by the {@code /scroll} endpoints. The sort parameter only
+ * applies to the first page; afterwards the cursor carries it.
+ */
+final class KeysetParams {
+    private static final int MAX_SIZE = 100;
+
+    private KeysetParams() {
+    }
+
+    static KeysetCursor cursor(String cursor, String sort) {
+        if (StringUtils.hasText(cursor)) {
+            return KeysetCursor.decode(cursor);
+        }
+        String[] sortParts = sort.split(",");
+        Sort.Direction direction = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1])
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return KeysetCursor.first(sortParts[0], direction);
+    }
+
+    static int size(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.crm.web;
+
+import com.example.crm.service.inventory.LowStockAlert;
+import com.example.crm.web.dto.InventoryMapper;
+import com.example.crm.web.dto.LowStockAlertDto;
+import com.example.crm.web.dto.LowStockDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Pushes low-stock alerts to dashboard subscribers over server-sent events. A subscriber first gets a
+ * {@code snapshot} of every product below its threshold, then one {@code alert} per change. Alerts are
+ * sent from a single thread, so the committing request never waits on a client and the order of alerts is kept.
+ */
+@Component
+public class LowStockAlertStream {
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("low-stock-sse").daemon().factory());
+    private final InventoryMapper mapper;
+    private final Duration timeout;
+
+    public LowStockAlertStream(InventoryMapper mapper,
+                               @Value("${crm.inventory.alerts.timeout:30m}") Duration timeout) {
+        this.mapper = mapper;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(Supplier<List<LowStockDto>> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        // The snapshot is taken on the sender thread after registering, so no alert falls in between
+        emitters.add(emitter);
+        sender.execute(() -> send(emitter, SseEmitter.event().name("snapshot").data(snapshot.get())));
+        return emitter;
+    }
+
+    @EventListener
+    public void onAlert(LowStockAlert alert) {
+        LowStockAlertDto dto = mapper.toDto(alert);
+        sender.execute(() -> emitters.forEach(emitter -> send(emitter, SseEmitter.event().name("alert").data(dto))));
+    }
+
+    // Keeps idle connections open through proxies that drop silent streams
+    @Scheduled(fixedDelayString = "${crm.inventory.alerts.heartbeat-ms:30000}")
+    public void heartbeat() {
+        sender.execute(() -> emitters.forEach(emitter -> send(emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            emitters.remove(emitter);
+        }
+    }
+}
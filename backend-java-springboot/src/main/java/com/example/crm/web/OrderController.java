@@ -1,46 +1,135 @@
 package com.example.crm.web;
 
 import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.repository.OrderSearchCriteria;
+import com.example.crm.service.OrderHistoryService;
 import com.example.crm.service.OrderService;
+import com.example.crm.service.OrderStatusService;
+import com.example.crm.web.dto.BulkStatusResultDto;
+import com.example.crm.web.dto.BulkStatusUpdateDto;
+import com.example.crm.web.dto.CursorPage;
 import com.example.crm.web.dto.OrderHeaderDto;
 import com.example.crm.web.dto.OrderHeaderMapper;
+import com.example.crm.web.dto.OrderStatusEventDto;
+import com.example.crm.web.dto.OrderSummaryDto;
+import com.example.crm.web.dto.OrderStatusUpdateDto;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
+    // Recorded as the author of status changes; set by the gateway that authenticates the caller
+    static final String USER_HEADER = "X-User";
+
     private final OrderService service;
+    private final OrderStatusService statusService;
+    private final OrderHistoryService historyService;
     private final OrderHeaderMapper mapper;
 
-    public OrderController(OrderService service, OrderHeaderMapper mapper) {
+    public OrderController(OrderService service, OrderStatusService statusService,
+                           OrderHistoryService historyService, OrderHeaderMapper mapper) {
         this.service = service;
+        this.statusService = statusService;
+        this.historyService = historyService;
         this.mapper = mapper;
     }
 
     @GetMapping
-    public Page<OrderHeaderDto> list(@PageableDefault(size = 10, sort = "id") Pageable pageable) {
-        return service.findAll(pageable).map(mapper::toDto);
+    public Page<OrderHeaderDto> list(@PageableDefault(size = 10, sort = "id") Pageable pageable, WebRequest request) {
+        Page<OrderHeader> orders = service.findAll(pageable);
+        if (request.checkNotModified(ConditionalRequests.etag(orders, ConditionalRequests::etag))) {
+            return null;
+        }
+        return orders.map(mapper::toDto);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<OrderHeaderDto> scroll(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false, defaultValue = "10") int size,
+                                             @RequestParam(required = false, defaultValue = "id,asc") String sort) {
+        return CursorPage.of(service.scroll(KeysetParams.cursor(cursor, sort), KeysetParams.size(size)), mapper::toDto);
+    }
+
+    @GetMapping("/search")
+    public Slice<OrderSummaryDto> search(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String customerName,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(customerId, status, from, to,
+                StringUtils.hasText(customerName) ? customerName.trim() : null);
+        return service.search(criteria, pageable).map(mapper::toDto);
     }
 
     @GetMapping("/{id}")
-    public OrderHeaderDto get(@PathVariable Long id) {
-        return mapper.toDto(service.findById(id));
+    public OrderHeaderDto get(@PathVariable Long id, WebRequest request) {
+        OrderHeader order = service.findById(id);
+        if (request.checkNotModified(ConditionalRequests.etag(order),
+                ConditionalRequests.lastModified(order.getUpdatedAt()))) {
+            return null;
+        }
+        return mapper.toDto(order);
+    }
+
+    @GetMapping("/{id}/history")
+    public List<OrderStatusEventDto> history(@PathVariable Long id) {
+        return mapper.toDto(historyService.timeline(id));
+    }
+
+    @GetMapping("/status-events")
+    public Slice<OrderStatusEventDto> statusEvents(
+            @RequestParam OrderStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "50") int size) {
+        return historyService.entered(status, from, to,
+                        PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 500))))
+                .map(mapper::toDto);
     }
 
     @PostMapping
-    public ResponseEntity<OrderHeaderDto> create(@Valid @RequestBody OrderHeaderDto dto) {
-        OrderHeader saved = service.create(mapper.toEntity(dto));
+    public ResponseEntity<OrderHeaderDto> create(@Valid @RequestBody OrderHeaderDto dto,
+                                                 @RequestHeader(name = USER_HEADER, required = false) String user) {
+        OrderHeader saved = service.create(mapper.toEntity(dto), user);
         return ResponseEntity.created(null).body(mapper.toDto(saved));
     }
 
+    @PatchMapping("/{id}/status")
+    public OrderHeaderDto updateStatus(@PathVariable Long id, @Valid @RequestBody OrderStatusUpdateDto dto,
+                                       @RequestHeader(name = USER_HEADER, required = false) String user,
+                                       WebRequest request) {
+        return mapper.toDto(statusService.transition(id, dto.status(), dto.version(),
+                ConditionalRequests.ifMatchVersion(request, id), user));
+    }
+
+    @PostMapping("/bulk-status")
+    public BulkStatusResultDto updateStatuses(@Valid @RequestBody BulkStatusUpdateDto dto,
+                                              @RequestHeader(name = USER_HEADER, required = false) String user) {
+        return BulkStatusResultDto.of(dto.status(),
+                statusService.transitionAll(dto.status(), dto.expectedVersions(), user));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, WebRequest request) {
+        service.delete(id, ConditionalRequests.ifMatchVersion(request, id));
         return ResponseEntity.noContent().build();
     }
 }
@@ -2,6 +2,8 @@ package com.example.crm.web;
 
 import com.example.crm.domain.model.Product;
 import com.example.crm.service.ProductService;
+import com.example.crm.service.search.ProductSearchService;
+import com.example.crm.web.dto.CursorPage;
 import com.example.crm.web.dto.ProductDto;
 import com.example.crm.web.dto.ProductMapper;
 import jakarta.validation.Valid;
@@ -10,31 +12,54 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/products")
 public class ProductController {
     private final ProductService service;
     private final ProductMapper mapper;
+    private final ProductSearchService searchService;
 
-    public ProductController(ProductService service, ProductMapper mapper) {
+    public ProductController(ProductService service, ProductMapper mapper, ProductSearchService searchService) {
         this.service = service;
         this.mapper = mapper;
+        this.searchService = searchService;
     }
 
     @GetMapping
     public Page<ProductDto> list(@RequestParam(required = false) Long subCategoryId,
-                                 @PageableDefault(size = 10, sort = "id") Pageable pageable) {
-        if (subCategoryId != null) {
-            java.util.List<Product> list = service.findBySubCategoryId(subCategoryId);
-            return new org.springframework.data.domain.PageImpl<>(list).map(mapper::toDto);
+                                 @PageableDefault(size = 10, sort = "id") Pageable pageable,
+                                 WebRequest request) {
+        Page<Product> products = subCategoryId != null
+                ? new org.springframework.data.domain.PageImpl<>(service.findBySubCategoryId(subCategoryId))
+                : service.findAll(pageable);
+        if (request.checkNotModified(ConditionalRequests.etag(products, ConditionalRequests::etag))) {
+            return null;
         }
-        return service.findAll(pageable).map(mapper::toDto);
+        return products.map(mapper::toDto);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<ProductDto> scroll(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false, defaultValue = "10") int size,
+                                         @RequestParam(required = false, defaultValue = "id,asc") String sort) {
+        return CursorPage.of(service.scroll(KeysetParams.cursor(cursor, sort), KeysetParams.size(size)), mapper::toDto);
+    }
+
+    @GetMapping("/search")
+    public Page<ProductDto> search(@RequestParam String q, @PageableDefault(size = 10) Pageable pageable) {
+        return searchService.search(q, pageable).map(mapper::toDto);
     }
 
     @GetMapping("/{id}")
-    public ProductDto get(@PathVariable Long id) {
-        return mapper.toDto(service.findById(id));
+    public ProductDto get(@PathVariable Long id, WebRequest request) {
+        Product product = service.findById(id);
+        if (request.checkNotModified(ConditionalRequests.etag(product),
+                ConditionalRequests.lastModified(product.getUpdatedAt()))) {
+            return null;
+        }
+        return mapper.toDto(product);
     }
 
     @PostMapping
@@ -44,14 +69,15 @@ public class ProductController {
     }
 
     @PutMapping("/{id}")
-    public ProductDto update(@PathVariable Long id, @Valid @RequestBody ProductDto dto) {
-        Product updated = service.update(id, mapper.toEntity(dto));
+    public ProductDto update(@PathVariable Long id, @Valid @RequestBody ProductDto dto, WebRequest request) {
+        Product updated = service.update(id, mapper.toEntity(dto),
+                ConditionalRequests.ifMatchVersion(request, id));
         return mapper.toDto(updated);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, WebRequest request) {
+        service.delete(id, ConditionalRequests.ifMatchVersion(request, id));
         return ResponseEntity.noContent().build();
     }
 }
@@ -8,6 +8,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/product-subcategories")
@@ -29,8 +30,13 @@ public class ProductSubCategoryController {
     }
 
     @GetMapping("/{id}")
-    public ProductSubCategoryDto get(@PathVariable Long id) {
-        return mapper.toDto(service.findById(id));
+    public ProductSubCategoryDto get(@PathVariable Long id, WebRequest request) {
+        ProductSubCategory subCategory = service.findById(id);
+        if (request.checkNotModified(ConditionalRequests.etag(subCategory),
+                ConditionalRequests.lastModified(subCategory.getModifiedDate()))) {
+            return null;
+        }
+        return mapper.toDto(subCategory);
     }
 
     @PostMapping
@@ -40,14 +46,16 @@ public class ProductSubCategoryController {
     }
 
     @PutMapping("/{id}")
-    public ProductSubCategoryDto update(@PathVariable Long id, @Valid @RequestBody ProductSubCategoryDto dto) {
-        ProductSubCategory updated = service.update(id, mapper.toEntity(dto));
+    public ProductSubCategoryDto update(@PathVariable Long id, @Valid @RequestBody ProductSubCategoryDto dto,
+                                        WebRequest request) {
+        ProductSubCategory updated = service.update(id, mapper.toEntity(dto),
+                ConditionalRequests.ifMatchVersion(request, id));
         return mapper.toDto(updated);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id, WebRequest request) {
+        service.delete(id, ConditionalRequests.ifMatchVersion(request, id));
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,93 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.model.SalesDailyAggregate;
+import com.example.crm.domain.model.SalesDimension;
+import com.example.crm.domain.repository.SalesTotals;
+import com.example.crm.service.reporting.SalesReportService;
+import com.example.crm.web.dto.SalesRankingDto;
+import com.example.crm.web.dto.SalesReportDto;
+import com.example.crm.web.dto.SalesReportMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/reports/sales")
+@Tag(name = "Report", description = "Sales report API")
+public class ReportController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SalesReportService service;
+    private final SalesReportMapper mapper;
+
+    public ReportController(SalesReportService service, SalesReportMapper mapper) {
+        this.service = service;
+        this.mapper = mapper;
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Daily sales", description = "Revenue, order count and units per day over all orders")
+    public SalesReportDto daily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return report(SalesDimension.TOTAL, 0L, from, to);
+    }
+
+    @GetMapping("/{dimension}/{id}")
+    @Operation(summary = "Daily sales of one entity", description = "dimension is customers, products or categories")
+    public SalesReportDto forEntity(
+            @PathVariable String dimension,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return report(parseDimension(dimension), id, from, to);
+    }
+
+    @GetMapping("/{dimension}/top")
+    @Operation(summary = "Top sellers", description = "Customers, products or categories ranked by revenue")
+    public List<SalesRankingDto> top(
+            @PathVariable String dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Number of entries", example = "10")
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return service.top(parseDimension(dimension), start, end, Math.max(1, Math.min(limit, 100))).stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild aggregates", description = "Backfill: recompute the date range from the order tables")
+    public Map<String, Object> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Map.of("from", from, "to", to, "buckets", service.rebuild(from, to));
+    }
+
+    private SalesReportDto report(SalesDimension dimension, Long id, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        List<SalesDailyAggregate> days = service.daily(dimension, id, start, end);
+        SalesTotals totals = service.totals(days, id);
+        return new SalesReportDto(dimension, dimension == SalesDimension.TOTAL ? null : id, start, end,
+                totals.revenue(), totals.orders(), totals.units(), mapper.toDto(days));
+    }
+
+    private static SalesDimension parseDimension(String dimension) {
+        return switch (dimension) {
+            case "customers" -> SalesDimension.CUSTOMER;
+            case "products" -> SalesDimension.PRODUCT;
+            case "categories" -> SalesDimension.CATEGORY;
+            default -> throw new IllegalArgumentException("Unknown report dimension: " + dimension);
+        };
+    }
+}
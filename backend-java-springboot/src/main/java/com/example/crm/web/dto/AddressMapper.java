@@ -1,9 +1,12 @@
 package com.example.crm.web.dto;
 
 import com.example.crm.domain.model.Address;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "crm.mapper"))
 public interface AddressMapper {
     AddressDto toDto(Address entity);
     Address toEntity(AddressDto dto);
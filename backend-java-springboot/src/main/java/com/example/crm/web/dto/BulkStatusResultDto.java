@@ -0,0 +1,20 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.service.OrderTransitionResult;
+
+import java.util.List;
+
+public record BulkStatusResultDto(
+        OrderStatus status,
+        int requested,
+        long updated,
+        List<OrderTransitionResult> results
+) {
+    public static BulkStatusResultDto of(OrderStatus status, List<OrderTransitionResult> results) {
+        long updated = results.stream()
+                .filter(result -> result.outcome() == OrderTransitionResult.Outcome.UPDATED)
+                .count();
+        return new BulkStatusResultDto(status, results.size(), updated, results);
+    }
+}
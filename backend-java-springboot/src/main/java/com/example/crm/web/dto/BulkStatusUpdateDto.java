@@ -0,0 +1,28 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.service.OrderStatusService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record BulkStatusUpdateDto(
+        @NotNull OrderStatus status,
+        @NotEmpty @Size(max = OrderStatusService.MAX_BULK_SIZE) List<@Valid @NotNull Item> orders
+) {
+    public record Item(@NotNull Long id, Long version) {}
+
+    /** Order ids in request order, mapped to the expected version (null when not checked). */
+    public Map<Long, Long> expectedVersions() {
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        for (Item item : orders) {
+            versions.put(item.id(), item.version());
+        }
+        return versions;
+    }
+}
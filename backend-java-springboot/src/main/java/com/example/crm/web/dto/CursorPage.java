@@ -0,0 +1,19 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.repository.KeysetSlice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    public static <E, T> CursorPage<T> of(KeysetSlice<E> slice, Function<? super E, T> mapper) {
+        List<T> content = slice.content().stream().map(mapper).toList();
+        return new CursorPage<>(content, content.size(), slice.hasNext(),
+                slice.hasNext() ? slice.next().encode() : null);
+    }
+}
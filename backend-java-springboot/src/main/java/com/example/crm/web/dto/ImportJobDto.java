@@ -0,0 +1,36 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.service.ImportJob;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportJobDto(
+        String id,
+        ImportJob.Type type,
+        ImportJob.Format format,
+        ImportJob.Status status,
+        long rowsRead,
+        long inserted,
+        long failed,
+        double rowsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String message,
+        List<ImportJob.RowError> errors
+) {
+    public static ImportJobDto of(ImportJob job) {
+        return of(job, job.getErrors());
+    }
+
+    /** Same progress without the error list, for job listings. */
+    public static ImportJobDto summary(ImportJob job) {
+        return of(job, List.of());
+    }
+
+    private static ImportJobDto of(ImportJob job, List<ImportJob.RowError> errors) {
+        return new ImportJobDto(job.getId(), job.getType(), job.getFormat(), job.getStatus(), job.getRowsRead(),
+                job.getInserted(), job.getFailed(), Math.round(job.getRowsPerSecond() * 10) / 10.0,
+                job.getStartedAt(), job.getFinishedAt(), job.getMessage(), errors);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.repository.StockLevel;
+import com.example.crm.service.inventory.InventoryLedger;
+import com.example.crm.service.inventory.LowStockAlert;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "crm.mapper"))
+public interface InventoryMapper {
+    LowStockDto toDto(StockLevel level);
+
+    List<LowStockDto> toDto(List<StockLevel> levels);
+
+    LowStockAlertDto toDto(LowStockAlert alert);
+
+    InventoryMovementDto toDto(InventoryMovement movement);
+
+    StockAtDto toDto(InventoryLedger.StockAt stockAt);
+}
@@ -0,0 +1,12 @@
+package com.example.crm.web.dto;
+
+import java.time.Instant;
+
+public record InventoryMovementDto(
+        Long id,
+        Long productId,
+        Integer quantityDelta,
+        String reason,
+        Long referenceId,
+        Instant createdAt
+) {}
@@ -0,0 +1,13 @@
+package com.example.crm.web.dto;
+
+import java.time.Instant;
+
+public record LowStockAlertDto(
+        String type,
+        Long productId,
+        String sku,
+        String name,
+        Integer stock,
+        Integer threshold,
+        Instant at
+) {}
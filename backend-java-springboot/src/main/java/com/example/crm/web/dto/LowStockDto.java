@@ -0,0 +1,9 @@
+package com.example.crm.web.dto;
+
+public record LowStockDto(
+        Long productId,
+        String sku,
+        String name,
+        Integer stock,
+        Integer threshold
+) {}
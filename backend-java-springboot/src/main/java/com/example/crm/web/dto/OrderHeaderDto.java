@@ -15,5 +15,6 @@ public record OrderHeaderDto(
         @NotNull OrderStatus status,
         @NotNull Long customerId,
         @Valid List<OrderLineDto> lines,
-        BigDecimal totalAmount
+        BigDecimal totalAmount,
+        Long version
 ) {}
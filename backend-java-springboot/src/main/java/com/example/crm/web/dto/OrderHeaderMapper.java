@@ -3,11 +3,18 @@ package com.example.crm.web.dto;
 import com.example.crm.domain.model.Customer;
 import com.example.crm.domain.model.OrderHeader;
 import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatusEvent;
 import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.OrderSummary;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "crm.mapper"))
 public interface OrderHeaderMapper {
     @Mapping(target = "customerId", source = "customer.id")
     OrderHeaderDto toDto(OrderHeader entity);
@@ -34,4 +41,10 @@ public interface OrderHeaderMapper {
         p.setId(id);
         return p;
     }
+
+    OrderStatusEventDto toDto(OrderStatusEvent event);
+
+    OrderSummaryDto toDto(OrderSummary summary);
+
+    List<OrderStatusEventDto> toDto(List<OrderStatusEvent> events);
 }
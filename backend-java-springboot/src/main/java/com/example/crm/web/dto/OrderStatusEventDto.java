@@ -0,0 +1,14 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.time.Instant;
+
+public record OrderStatusEventDto(
+        Long orderId,
+        OrderStatus fromStatus,
+        OrderStatus toStatus,
+        Long version,
+        String changedBy,
+        Instant changedAt
+) {}
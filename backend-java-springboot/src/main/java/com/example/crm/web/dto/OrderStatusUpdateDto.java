@@ -0,0 +1,9 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record OrderStatusUpdateDto(
+        @NotNull OrderStatus status,
+        Long version
+) {}
@@ -0,0 +1,14 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record OrderSummaryDto(
+        Long id,
+        LocalDate orderDate,
+        OrderStatus status,
+        String customerName,
+        BigDecimal totalAmount
+) {}
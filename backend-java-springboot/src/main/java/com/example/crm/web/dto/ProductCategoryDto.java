@@ -1,8 +1,10 @@
 package com.example.crm.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 
 public record ProductCategoryDto(
         Long id,
-        @NotBlank String name
+        @NotBlank String name,
+        @PositiveOrZero Integer lowStockThreshold
 ) {}
@@ -11,5 +11,6 @@ public record ProductDto(
         String description,
         @DecimalMin("0.01") @Digits(integer = 10, fraction = 2) BigDecimal price,
         @PositiveOrZero Integer stockQuantity,
-        Boolean active
+        Boolean active,
+        @PositiveOrZero Integer lowStockThreshold
 ) {}
@@ -1,10 +1,13 @@
 package com.example.crm.web.dto;
 
 import com.example.crm.domain.model.ProductSubCategory;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "crm.mapper"))
 public interface ProductSubCategoryMapper {
     @Mapping(target = "categoryId", source = "category.id")
     ProductSubCategoryDto toDto(ProductSubCategory entity);
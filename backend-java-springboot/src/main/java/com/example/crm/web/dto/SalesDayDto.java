@@ -0,0 +1,11 @@
+package com.example.crm.web.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SalesDayDto(
+        LocalDate date,
+        BigDecimal revenue,
+        long orders,
+        long units
+) {}
@@ -0,0 +1,10 @@
+package com.example.crm.web.dto;
+
+import java.math.BigDecimal;
+
+public record SalesRankingDto(
+        Long id,
+        BigDecimal revenue,
+        long orders,
+        long units
+) {}
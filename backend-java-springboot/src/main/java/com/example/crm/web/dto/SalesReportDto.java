@@ -0,0 +1,18 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.SalesDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record SalesReportDto(
+        SalesDimension dimension,
+        Long dimensionId,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal revenue,
+        long orders,
+        long units,
+        List<SalesDayDto> days
+) {}
@@ -0,0 +1,23 @@
+package com.example.crm.web.dto;
+
+import com.example.crm.domain.model.SalesDailyAggregate;
+import com.example.crm.domain.repository.SalesTotals;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "crm.mapper"))
+public interface SalesReportMapper {
+    @Mapping(target = "date", source = "bucketDate")
+    @Mapping(target = "orders", source = "orderCount")
+    SalesDayDto toDto(SalesDailyAggregate entity);
+
+    List<SalesDayDto> toDto(List<SalesDailyAggregate> entities);
+
+    @Mapping(target = "id", source = "dimensionId")
+    SalesRankingDto toDto(SalesTotals totals);
+}
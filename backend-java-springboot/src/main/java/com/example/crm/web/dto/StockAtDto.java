@@ -0,0 +1,10 @@
+package com.example.crm.web.dto;
+
+import java.time.Instant;
+
+public record StockAtDto(
+        Long productId,
+        Instant at,
+        Long stock,
+        Instant snapshotAsOf
+) {}
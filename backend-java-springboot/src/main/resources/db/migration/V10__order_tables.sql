@@ -0,0 +1,35 @@
+-- order_headers and order_lines were only ever created by ddl-auto; V1 has the legacy orders table.
+-- Ids are allocated by the application (see id_allocations), so there is no AUTO_INCREMENT.
+CREATE TABLE IF NOT EXISTS order_headers (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_date DATE,
+    status VARCHAR(20),
+    customer_id BIGINT,
+    total_amount DECIMAL(12,2),
+    version BIGINT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    CONSTRAINT fk_order_headers_customer FOREIGN KEY (customer_id) REFERENCES customers(id)
+);
+
+CREATE TABLE IF NOT EXISTS order_lines (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT,
+    product_id BIGINT,
+    quantity INT,
+    unit_price DECIMAL(12,2),
+    line_total DECIMAL(12,2),
+    version BIGINT,
+    CONSTRAINT fk_order_lines_order FOREIGN KEY (order_id) REFERENCES order_headers(id),
+    CONSTRAINT fk_order_lines_product FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+-- Order search: equality columns first, the order_date range last. customer_id alone uses the
+-- customer prefix of the first two; order_date alone uses the last.
+CREATE INDEX idx_order_headers_customer_date ON order_headers(customer_id, order_date);
+CREATE INDEX idx_order_headers_customer_status_date ON order_headers(customer_id, status, order_date);
+CREATE INDEX idx_order_headers_status_date ON order_headers(status, order_date);
+CREATE INDEX idx_order_headers_date ON order_headers(order_date);
+
+CREATE INDEX idx_order_lines_order ON order_lines(order_id);
+CREATE INDEX idx_order_lines_product ON order_lines(product_id);
@@ -0,0 +1,5 @@
+-- Optimistic-lock versions; the ETags of these resources are built from them. Existing rows start at 0.
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE addresses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE product_subcategories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+CREATE TABLE sales_daily_aggregates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    dimension VARCHAR(16) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    revenue DECIMAL(19,2) NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT ux_sales_daily_bucket UNIQUE (dimension, dimension_id, bucket_date)
+);
+
+CREATE INDEX idx_sales_daily_date ON sales_daily_aggregates(dimension, bucket_date);
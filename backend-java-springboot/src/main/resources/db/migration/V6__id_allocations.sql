@@ -0,0 +1,13 @@
+CREATE TABLE id_allocations (
+    name VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- Sequences continue after the existing rows; tables not listed are seeded on first allocation
+INSERT INTO id_allocations (name, next_value)
+SELECT 'addresses', COALESCE(MAX(id), 0) + 1 FROM addresses
+UNION ALL SELECT 'customers', COALESCE(MAX(id), 0) + 1 FROM customers
+UNION ALL SELECT 'products', COALESCE(MAX(id), 0) + 1 FROM products
+UNION ALL SELECT 'orders', COALESCE(MAX(id), 0) + 1 FROM orders
+UNION ALL SELECT 'product_categories', COALESCE(MAX(id), 0) + 1 FROM product_categories
+UNION ALL SELECT 'product_subcategories', COALESCE(MAX(id), 0) + 1 FROM product_subcategories;
@@ -0,0 +1,2 @@
+ALTER TABLE products ADD COLUMN low_stock_threshold INT NULL;
+ALTER TABLE product_categories ADD COLUMN low_stock_threshold INT NULL;
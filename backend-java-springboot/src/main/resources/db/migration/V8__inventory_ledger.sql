@@ -0,0 +1,24 @@
+CREATE TABLE inventory_movements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity_delta INT NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    reference_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_inventory_movements_product ON inventory_movements(product_id, id);
+
+CREATE TABLE inventory_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    stock INT NOT NULL,
+    last_movement_id BIGINT NOT NULL,
+    as_of TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_inventory_snapshots_product ON inventory_snapshots(product_id, as_of);
+
+-- The ledger starts from today's stock
+INSERT INTO inventory_snapshots (product_id, stock, last_movement_id, as_of)
+SELECT id, COALESCE(stock_quantity, 0), 0, CURRENT_TIMESTAMP(6) FROM products;
@@ -0,0 +1,20 @@
+-- Partitioned by month of changed_at: the primary key must contain the partitioning column, and
+-- partitioned tables cannot have foreign keys. Monthly partitions are added ahead of time by
+-- OrderHistoryPartitionMaintainer, which splits p_future.
+CREATE TABLE order_status_events (
+    id BIGINT AUTO_INCREMENT NOT NULL,
+    order_id BIGINT NOT NULL,
+    from_status VARCHAR(20),
+    to_status VARCHAR(20) NOT NULL,
+    version BIGINT,
+    changed_by VARCHAR(100),
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id, changed_at)
+)
+PARTITION BY RANGE COLUMNS (changed_at) (
+    PARTITION p_start VALUES LESS THAN ('2026-11-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE INDEX idx_order_status_events_order ON order_status_events(order_id, changed_at);
+CREATE INDEX idx_order_status_events_status ON order_status_events(to_status, changed_at);
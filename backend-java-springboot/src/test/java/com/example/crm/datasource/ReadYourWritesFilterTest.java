@@ -0,0 +1,61 @@
+package com.example.crm.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(10));
+
+    @Test
+    void write_setsStickinessCookieAndPinsToPrimary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long before = System.currentTimeMillis();
+
+        boolean pinned = pinnedDuring(new MockHttpServletRequest("POST", "/api/v1/customers"), response);
+
+        assertTrue(pinned);
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.contains("Max-Age=10"), cookie);
+        long until = Long.parseLong(cookie.substring(cookie.indexOf('=') + 1, cookie.indexOf(';')));
+        assertTrue(until >= before + 10_000 && until <= System.currentTimeMillis() + 10_000, cookie);
+    }
+
+    @Test
+    void read_withinStickinessWindow_isPinnedToPrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() + 5_000)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(pinnedDuring(request, response));
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void read_afterWindowOrWithoutCookie_goesToReplicas() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/v1/customers/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+        MockHttpServletRequest garbled = new MockHttpServletRequest("GET", "/api/v1/customers/1");
+        garbled.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "soon"));
+
+        assertFalse(pinnedDuring(expired, new MockHttpServletResponse()));
+        assertFalse(pinnedDuring(garbled, new MockHttpServletResponse()));
+        assertFalse(pinnedDuring(new MockHttpServletRequest("GET", "/api/v1/customers"), new MockHttpServletResponse()));
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary()));
+        return pinned.get();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.crm.datasource;
+
+import com.example.crm.config.ReadReplicaConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ReplicaSet replicaSet = mock(ReplicaSet.class);
+    HikariDataSource primary;
+    Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicas.put("replica-1", pool());
+        replicas.put("replica-2", pool());
+        primary = pool();
+        when(replicaSet.primary()).thenReturn(primary);
+        doReturn(replicas).when(replicaSet).replicas();
+    }
+
+    @AfterEach
+    void unpin() {
+        ReplicaRoutingDataSource.pinToPrimary(false);
+    }
+
+    @Test
+    void lookupKey_roundRobinsOverAvailableReplicas() {
+        when(replicaSet.available()).thenReturn(List.of("replica-1", "replica-2"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaSet, registry);
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), List.of(routing.determineCurrentLookupKey(),
+                routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()));
+        assertEquals(2.0, registry.get("crm.datasource.reads").tag("target", "replica-1").counter().count());
+    }
+
+    @Test
+    void lookupKey_noReplicaAvailable_fallsBackToPrimary() {
+        when(replicaSet.available()).thenReturn(List.of());
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY,
+                new ReplicaRoutingDataSource(replicaSet, registry).determineCurrentLookupKey());
+    }
+
+    @Test
+    void lookupKey_pinnedThread_usesPrimary() {
+        when(replicaSet.available()).thenReturn(List.of("replica-1"));
+        ReplicaRoutingDataSource.pinToPrimary(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY,
+                new ReplicaRoutingDataSource(replicaSet, registry).determineCurrentLookupKey());
+    }
+
+    @Test
+    void transactions_readOnlyGoToReplica_readWriteToPrimary() throws SQLException {
+        when(replicaSet.available()).thenReturn(List.of("replica-2"));
+        DataSource dataSource = new ReadReplicaConfig().dataSource(replicaSet, registry);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        readOnly.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 1"));
+        assertRanOn(replicas.get("replica-2"));
+        verify(replicas.get("replica-1"), never()).getConnection();
+        verify(primary.getConnection(), never()).createStatement();
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.execute("UPDATE customers SET email = email"));
+        assertRanOn(primary);
+    }
+
+    private static void assertRanOn(DataSource pool) throws SQLException {
+        verify(pool.getConnection().createStatement()).execute(anyString());
+    }
+
+    private static HikariDataSource pool() throws SQLException {
+        Statement statement = mock(Statement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getConnection()).thenReturn(connection);
+        return pool;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.crm.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaSetTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void available_emptyUntilLagWasChecked() throws Exception {
+        ReplicaSet set = replicaSet(Map.of("replica-1", replicaLagging(0L)));
+
+        assertEquals(List.of(), set.available());
+    }
+
+    @Test
+    void checkLag_keepsOnlyReplicasWithinTheLimit() throws Exception {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaLagging(2L));
+        replicas.put("replica-2", replicaLagging(30L));
+        replicas.put("replica-3", replicaLagging(5L));
+        ReplicaSet set = replicaSet(replicas);
+
+        set.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-3"), set.available());
+        assertEquals(30.0, registry.get("crm.datasource.replica.lag").tag("replica", "replica-2").gauge().value());
+    }
+
+    @Test
+    void checkLag_unreachableOrUnknownLag_takesReplicaOut() throws Exception {
+        HikariDataSource unreachable = mock(HikariDataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", unreachable);
+        replicas.put("replica-2", replicaLagging(null));
+        ReplicaSet set = replicaSet(replicas);
+
+        set.checkLag();
+
+        assertEquals(List.of(), set.available());
+        assertTrue(Double.isNaN(registry.get("crm.datasource.replica.lag").tag("replica", "replica-1").gauge().value()));
+    }
+
+    @Test
+    void checkLag_withoutReplicationStatus_countsAsUpToDate() throws Exception {
+        ReplicaSet set = replicaSet(Map.of("replica-1", replicaReporting(null, false)));
+
+        set.checkLag();
+
+        assertEquals(List.of("replica-1"), set.available());
+    }
+
+    @Test
+    void checkLag_replicaThatCatchesUp_returnsToRotation() throws Exception {
+        HikariDataSource replica = replicaLagging(60L);
+        ReplicaSet set = replicaSet(Map.of("replica-1", replica));
+        set.checkLag();
+        assertEquals(List.of(), set.available());
+
+        Connection caughtUp = replicaLagging(1L).getConnection();
+        when(replica.getConnection()).thenReturn(caughtUp);
+        set.checkLag();
+
+        assertEquals(List.of("replica-1"), set.available());
+    }
+
+    private ReplicaSet replicaSet(Map<String, HikariDataSource> replicas) {
+        return new ReplicaSet(mock(HikariDataSource.class), replicas, Duration.ofSeconds(5), registry);
+    }
+
+    private static HikariDataSource replicaLagging(Long seconds) throws SQLException {
+        return replicaReporting(seconds, true);
+    }
+
+    // A replica answering SHOW REPLICA STATUS with one row (lag null: replication broken) or no row at all
+    private static HikariDataSource replicaReporting(Long seconds, boolean hasStatus) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(hasStatus);
+        when(rs.getLong("Seconds_Behind_Source")).thenReturn(seconds == null ? 0L : seconds);
+        when(rs.wasNull()).thenReturn(seconds == null);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getConnection()).thenReturn(connection);
+        return pool;
+    }
+}
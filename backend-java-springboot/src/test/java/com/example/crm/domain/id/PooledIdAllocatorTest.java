@@ -0,0 +1,115 @@
+package com.example.crm.domain.id;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledIdAllocatorTest {
+
+    EmbeddedDatabase database;
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE id_allocations (name VARCHAR(64) PRIMARY KEY, next_value BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE customers (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void next_refillsBlocksFromTheTable() {
+        PooledIdAllocator allocator = new PooledIdAllocator(database, 3);
+
+        List<Long> ids = LongStream.range(0, 7).mapToObj(i -> allocator.next("customers")).toList();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids);
+        // Three blocks of three were reserved
+        assertEquals(10L, nextValue("customers"));
+    }
+
+    @Test
+    void next_newSequenceStartsAfterHighestExistingId() {
+        jdbcTemplate.update("INSERT INTO products (id) VALUES (41)");
+
+        assertEquals(42L, new PooledIdAllocator(database, 10).next("products"));
+        assertEquals(52L, nextValue("products"));
+    }
+
+    @Test
+    void next_keepsSequencesApart() {
+        jdbcTemplate.update("INSERT INTO id_allocations (name, next_value) VALUES ('products', 500)");
+        PooledIdAllocator allocator = new PooledIdAllocator(database, 5);
+
+        assertEquals(1L, allocator.next("customers"));
+        assertEquals(500L, allocator.next("products"));
+        assertEquals(2L, allocator.next("customers"));
+        assertEquals(501L, allocator.next("products"));
+        assertEquals(6L, nextValue("customers"));
+        assertEquals(505L, nextValue("products"));
+    }
+
+    @Test
+    void next_concurrentCallersAcrossNodesGetUniqueIds() throws Exception {
+        // Two allocators over one table stand in for two app nodes
+        List<PooledIdAllocator> nodes = List.of(new PooledIdAllocator(database, 7), new PooledIdAllocator(database, 7));
+        int threads = 8;
+        int perThread = 250;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            PooledIdAllocator allocator = nodes.get(t % nodes.size());
+            tasks.add(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(ids.add(allocator.next("customers")));
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void constructor_nonPositiveBlockSize_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledIdAllocator(database, 0));
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT next_value FROM id_allocations WHERE name = ?", Long.class, sequence);
+    }
+}
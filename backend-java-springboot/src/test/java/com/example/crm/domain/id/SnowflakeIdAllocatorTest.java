@@ -0,0 +1,32 @@
+package com.example.crm.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnowflakeIdAllocatorTest {
+
+    @Test
+    void next_isStrictlyIncreasingBeyondOneMillisecondOfCounter() {
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(7);
+
+        long previous = allocator.next("customers");
+        for (int i = 0; i < 20_000; i++) {
+            long id = allocator.next("customers");
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void next_encodesNodeId() {
+        long id = new SnowflakeIdAllocator(513).next("orders");
+
+        assertEquals(513, (id >> 12) & 1023);
+    }
+
+    @Test
+    void constructor_nodeIdOutOfRange_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdAllocator(1024));
+    }
+}
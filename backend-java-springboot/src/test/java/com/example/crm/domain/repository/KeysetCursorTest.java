@@ -0,0 +1,40 @@
+package com.example.crm.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    void encode_roundTripsValuesWithSeparatorsAndNulls() {
+        KeysetCursor cursor = new KeysetCursor("lastName", Sort.Direction.DESC, "O'Neil|Smith", "42");
+        KeysetCursor withNull = new KeysetCursor("lastName", Sort.Direction.ASC, null, "7");
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+        assertEquals(withNull, KeysetCursor.decode(withNull.encode()));
+    }
+
+    @Test
+    void decode_garbage_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void parse_tamperedValues_throwIllegalArgument() {
+        KeysetCursor tampered = KeysetCursor.decode(
+                new KeysetCursor("createdAt", Sort.Direction.ASC, "yesterday", "12x").encode());
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetJpaRepository.parse(tampered.value(), Instant.class));
+        assertThrows(IllegalArgumentException.class, () -> KeysetJpaRepository.parse("2026-02-30", LocalDate.class));
+        assertThrows(IllegalArgumentException.class, () -> KeysetJpaRepository.parse(tampered.id(), Long.class));
+        assertThrows(IllegalArgumentException.class, () -> KeysetJpaRepository.parse("1,5", BigDecimal.class));
+        assertThrows(IllegalArgumentException.class, () -> KeysetJpaRepository.parse("LOST", Sort.Direction.class));
+        assertEquals(LocalDate.of(2026, 2, 28), KeysetJpaRepository.parse("2026-02-28", LocalDate.class));
+    }
+}
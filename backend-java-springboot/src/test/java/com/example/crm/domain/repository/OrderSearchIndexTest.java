@@ -0,0 +1,146 @@
+package com.example.crm.domain.repository;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.monitoring.QueryInspector;
+import com.example.crm.monitoring.QueryStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every filter combination of the order search, then EXPLAINs the statements it issued and checks
+ * that each reads order_headers through an index on a filtered column instead of scanning it.
+ * The class gets a context, and so an embedded database, of its own: the planner only sees the rows seeded
+ * here, and no other test sees them.
+ */
+@SpringBootTest(properties = "spring.datasource.generate-unique-name=true")
+@AutoConfigureTestDatabase
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OrderSearchIndexTest {
+
+    private static final int CUSTOMERS = 20;
+    private static final int ORDERS = 400;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    // The column a parameter is compared with, e.g. "o1_0.customer_id=?"
+    private static final Pattern BOUND_COLUMN = Pattern.compile("(\\w+)\\s*(?:=|<>|>=|<=|<|>)\\s*$");
+    // H2's access comment after the table, e.g. "/* PUBLIC.IDX_ORDER_HEADERS_DATE: ORDER_DATE >= ?1 */"
+    private static final Pattern ORDER_HEADERS_ACCESS =
+            Pattern.compile("\"ORDER_HEADERS\" \"\\w+\"\\s*/\\* PUBLIC\\.(\\w+)(?:\\.tableScan)?(?:: ([^*]+))? \\*/");
+
+    Long customerId;
+
+    @Autowired
+    OrderHeaderRepository headerRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        List<Customer> customers = new ArrayList<>();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            customers.add(customerRepository.save(
+                    new Customer(null, "Buyer" + c, "Search", "buyer" + c + "@search.test")));
+        }
+        List<OrderHeader> orders = new ArrayList<>();
+        for (int o = 0; o < ORDERS; o++) {
+            OrderHeader order = new OrderHeader();
+            order.setCustomer(customers.get(o % CUSTOMERS));
+            order.setStatus(OrderStatus.values()[o % OrderStatus.values().length]);
+            order.setOrderDate(START.plusDays(o % 120));
+            order.setTotalAmount(BigDecimal.TEN);
+            orders.add(order);
+        }
+        headerRepository.saveAll(orders);
+        customerId = customers.get(0).getId();
+        // Selectivity statistics, so the planner weighs indexes against real data
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"customer", "status", "dates", "start", "customer,status", "customer,dates",
+            "status,dates", "customer,status,dates"})
+    void search_usesAnIndexForEveryFilterCombination(String filters) {
+        Set<String> present = Set.of(filters.split(","));
+        OrderSearchCriteria criteria = new OrderSearchCriteria(
+                present.contains("customer") ? customerId : null,
+                present.contains("status") ? OrderStatus.PAID : null,
+                present.contains("dates") || present.contains("start") ? START.plusDays(10) : null,
+                present.contains("dates") ? START.plusDays(20) : null,
+                null);
+
+        QueryStats stats = QueryInspector.begin();
+        try {
+            headerRepository.findAll(OrderSpecifications.matching(criteria), PageRequest.of(0, 5, Sort.by("id")));
+        } finally {
+            QueryInspector.end(stats);
+        }
+
+        List<String> statements = stats.executions().keySet().stream()
+                .filter(sql -> sql.contains("order_headers"))
+                .toList();
+        assertFalse(statements.isEmpty());
+        for (String sql : statements) {
+            String plan = explain(sql);
+            // Whichever index serves the plan (for customer_id alone H2 may pick the foreign key's), it has
+            // to seek on one of the filtered columns rather than scan the table or walk the primary key
+            Matcher access = ORDER_HEADERS_ACCESS.matcher(plan);
+            assertTrue(access.find(), () -> filters + ": " + plan);
+            assertFalse(access.group(0).contains("tableScan"), () -> filters + ": " + plan);
+            String condition = access.group(2);
+            assertNotNull(condition, () -> filters + ": " + plan);
+            assertTrue(present.stream().map(OrderSearchIndexTest::column).anyMatch(condition::contains),
+                    () -> filters + ": " + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        List<Object> args = new ArrayList<>();
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            Matcher column = BOUND_COLUMN.matcher(sql.substring(0, i));
+            args.add(column.find() ? sample(column.group(1)) : 10);
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args.toArray());
+    }
+
+    private static String column(String filter) {
+        return switch (filter) {
+            case "customer" -> "CUSTOMER_ID";
+            case "status" -> "STATUS";
+            default -> "ORDER_DATE";
+        };
+    }
+
+    private Object sample(String column) {
+        return switch (column) {
+            case "customer_id" -> customerId;
+            case "status" -> OrderStatus.PAID.name();
+            case "order_date" -> START.plusDays(10);
+            default -> 10;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.crm.domain.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ProductStockRepositoryImplTest {
+
+    JdbcTemplate jdbcTemplate;
+    Connection connection;
+    Savepoint savepoint;
+    ProductStockRepositoryImpl repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        connection = Mockito.mock(Connection.class);
+        savepoint = Mockito.mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        repository = new ProductStockRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    void decrementStock_rejectsOnlyRowsThatMatchedNothing() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{1, 0, 1});
+
+        List<Long> rejected = repository.decrementStock(Map.of(3L, 1, 1L, 1, 2L, 5));
+
+        assertEquals(List.of(2L), rejected);
+        verify(connection).releaseSavepoint(savepoint);
+        verify(connection, never()).rollback(any(Savepoint.class));
+    }
+
+    @Test
+    void decrementStock_successNoInfo_replaysRowByRow() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(jdbcTemplate.update(anyString(), eq(1), eq(1L), eq(1))).thenReturn(1);
+        when(jdbcTemplate.update(anyString(), eq(5), eq(2L), eq(5))).thenReturn(0);
+
+        List<Long> rejected = repository.decrementStock(Map.of(1L, 1, 2L, 5));
+
+        assertEquals(List.of(2L), rejected);
+        verify(connection).rollback(savepoint);
+        verify(jdbcTemplate, times(2)).update(anyString(), anyInt(), anyLong(), anyInt());
+    }
+}
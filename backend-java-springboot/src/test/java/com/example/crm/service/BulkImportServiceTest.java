@@ -0,0 +1,117 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.AddressRepository;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.domain.repository.ProductSubCategoryRepository;
+import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.service.inventory.InventoryLedger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class BulkImportServiceTest {
+
+    ProductRepository productRepository = mock(ProductRepository.class);
+    CustomerRepository customerRepository = mock(CustomerRepository.class);
+    ProductSubCategoryRepository subCategoryRepository = mock(ProductSubCategoryRepository.class);
+    AddressRepository addressRepository = mock(AddressRepository.class);
+    InventoryLedger ledger = mock(InventoryLedger.class);
+    ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+    BulkImportService service = new BulkImportService(productRepository, customerRepository, subCategoryRepository,
+            addressRepository, ledger, mock(PlatformTransactionManager.class), new SyncTaskExecutor(), events,
+            new ObjectMapper(), 2, 10, Duration.ofHours(1));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importProducts_csv_insertsValidRowsInBatchesAndReportsErrors() throws Exception {
+        when(productRepository.findAllSkusLowerCase()).thenReturn(List.of("taken"));
+        when(subCategoryRepository.findAllIds()).thenReturn(List.of(5L));
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(inv -> batchSizes.add(((List<Product>) inv.getArgument(0)).size()))
+                .when(productRepository).insertAll(anyList());
+
+        String csv = "sku,name,description,price,stockQuantity,subCategoryId\n"
+                + "A-1,Hammer,\"Steel, 16oz\",9.99,10,5\n"
+                + "TAKEN,Saw,,4.50,1,\n"
+                + "A-2,Drill,,-1,1,\n"
+                + "a-1,Hammer again,,9.99,1,\n"
+                + "A-3,Wrench,,3.00,,5\n"
+                + "A-4,Pliers,,2.00,,99\n"
+                + "A-5,Level,,7.25,3,\n";
+
+        ImportJob job = service.submit(ImportJob.Type.PRODUCTS, ImportJob.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(7, job.getRowsRead());
+        assertEquals(3, job.getInserted());
+        assertEquals(4, job.getFailed());
+        assertEquals(List.of(2, 1), batchSizes);
+        verify(ledger, times(2)).record(anyList());
+        assertEquals(List.of(2L, 3L, 4L, 6L), job.getErrors().stream().map(ImportJob.RowError::row).toList());
+        verify(productRepository, never()).existsBySku(any());
+    }
+
+    @Test
+    void importCustomers_ndjson_rejectsMalformedLinesAndDuplicateEmails() throws Exception {
+        when(customerRepository.findAllEmailsLowerCase()).thenReturn(List.of("john@doe.com"));
+        when(addressRepository.findAllIds()).thenReturn(List.of());
+
+        String ndjson = "{\"firstName\":\"Jane\",\"lastName\":\"Roe\",\"email\":\"jane@roe.com\"}\n"
+                + "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"JOHN@doe.com\"}\n"
+                + "{not json\n"
+                + "\n"
+                + "{\"firstName\":\"Max\",\"lastName\":\"Mustermann\",\"email\":\"no-at-sign\"}\n";
+
+        ImportJob job = service.submit(ImportJob.Type.CUSTOMERS, ImportJob.Format.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsRead());
+        assertEquals(1, job.getInserted());
+        assertEquals(3, job.getFailed());
+        verify(customerRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void findJob_keepsRunningJobsAndDropsFinishedOnesAfterTheRetentionWindow() throws Exception {
+        BulkImportService expiring = new BulkImportService(productRepository, customerRepository,
+                subCategoryRepository, addressRepository, ledger, mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), events, new ObjectMapper(), 2, 10, Duration.ZERO);
+        List<ImportJob> seenWhileRunning = new ArrayList<>();
+        when(addressRepository.findAllIds()).thenAnswer(inv -> {
+            seenWhileRunning.addAll(expiring.findJobs());
+            return List.of();
+        });
+
+        ImportJob job = expiring.submit(ImportJob.Type.CUSTOMERS, ImportJob.Format.NDJSON,
+                new ByteArrayInputStream("{\"firstName\":\"Jane\",\"lastName\":\"Roe\",\"email\":\"jane@roe.com\"}\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(job), seenWhileRunning);
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> expiring.findJob(job.getId()));
+        assertEquals(List.of(), expiring.findJobs());
+
+        // Within the window a finished job is still there
+        ImportJob kept = service.submit(ImportJob.Type.CUSTOMERS, ImportJob.Format.NDJSON,
+                new ByteArrayInputStream(new byte[0]));
+        assertSame(kept, service.findJob(kept.getId()));
+    }
+}
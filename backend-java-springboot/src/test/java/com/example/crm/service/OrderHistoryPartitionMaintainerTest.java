@@ -0,0 +1,46 @@
+package com.example.crm.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class OrderHistoryPartitionMaintainerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addPartitions_failure_isLoggedNotThrown() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new UncategorizedSQLException("addPartitions", "ALTER TABLE order_status_events ...",
+                        new SQLException("Duplicate partition name p202612", "HY000", 1517)));
+
+        assertDoesNotThrow(() -> new OrderHistoryPartitionMaintainer(jdbcTemplate, 3).addPartitions());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addPartitions_otherDatabase_isSkippedWithoutTakingTheLock() throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> ((ConnectionCallback<?>) inv.getArgument(0)).doInConnection(connection));
+
+        new OrderHistoryPartitionMaintainer(jdbcTemplate, 3).addPartitions();
+
+        verify(connection, never()).createStatement();
+        verify(connection, never()).prepareStatement(anyString());
+    }
+}
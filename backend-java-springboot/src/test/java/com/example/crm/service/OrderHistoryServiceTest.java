@@ -0,0 +1,100 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.OrderStatusEvent;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class OrderHistoryServiceTest {
+
+    // Far from "now", so events written by other tests in the same context fall outside every window
+    private static final Instant T0 = Instant.parse("2001-03-01T00:00:00Z");
+
+    @Autowired
+    OrderHistoryService service;
+
+    @Autowired
+    OrderHeaderRepository headerRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void timeline_returnsTheOrdersEventsOldestFirst() {
+        Long orderId = createOrder().getId();
+        Instant now = Instant.now();
+        event(orderId, OrderStatus.NEW, OrderStatus.PAID, now.plusSeconds(2));
+        event(orderId, null, OrderStatus.NEW, now.plusSeconds(1));
+        event(orderId + 1, null, OrderStatus.NEW, now.plusSeconds(1));
+
+        List<OrderStatusEvent> timeline = service.timeline(orderId);
+
+        assertEquals(List.of(OrderStatus.NEW, OrderStatus.PAID),
+                timeline.stream().map(OrderStatusEvent::getToStatus).toList());
+        assertTrue(timeline.stream().allMatch(e -> e.getOrderId().equals(orderId)));
+    }
+
+    @Test
+    void timeline_deletedOrder_keepsItsHistory() {
+        event(-42L, null, OrderStatus.NEW, T0);
+
+        assertEquals(1, service.timeline(-42L).size());
+    }
+
+    @Test
+    void timeline_unknownOrderWithoutHistory_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> service.timeline(-43L));
+    }
+
+    @Test
+    void entered_includesFromAndExcludesTo() {
+        event(-44L, OrderStatus.NEW, OrderStatus.PAID, T0.minusSeconds(1));
+        event(-45L, OrderStatus.NEW, OrderStatus.PAID, T0);
+        event(-46L, OrderStatus.NEW, OrderStatus.SHIPPED, T0.plus(Duration.ofMinutes(30)));
+        event(-47L, OrderStatus.NEW, OrderStatus.PAID, T0.plus(Duration.ofMinutes(30)));
+        event(-48L, OrderStatus.NEW, OrderStatus.PAID, T0.plus(Duration.ofHours(1)));
+
+        List<Long> entered = service.entered(OrderStatus.PAID, T0, T0.plus(Duration.ofHours(1)), PageRequest.of(0, 10))
+                .map(OrderStatusEvent::getOrderId).getContent();
+
+        assertEquals(List.of(-45L, -47L), entered);
+    }
+
+    @Test
+    void entered_emptyOrInvertedWindow_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.entered(OrderStatus.PAID, T0, T0, PageRequest.of(0, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.entered(OrderStatus.PAID, T0, T0.minusSeconds(1), PageRequest.of(0, 10)));
+    }
+
+    private OrderHeader createOrder() {
+        OrderHeader order = new OrderHeader();
+        order.setOrderDate(LocalDate.now());
+        order.setTotalAmount(BigDecimal.TEN);
+        return headerRepository.save(order);
+    }
+
+    private void event(Long orderId, OrderStatus from, OrderStatus to, Instant at) {
+        jdbcTemplate.update("INSERT INTO order_status_events (order_id, from_status, to_status, changed_at) " +
+                "VALUES (?, ?, ?, ?)", orderId, from == null ? null : from.name(), to.name(), Timestamp.from(at));
+    }
+}
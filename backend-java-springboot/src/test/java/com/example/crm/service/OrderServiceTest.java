@@ -0,0 +1,113 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.OrderLineRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.service.outbox.OutboxService;
+import com.example.crm.service.reporting.OrderSalesEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderServiceTest {
+
+    OrderHeaderRepository headerRepository = mock(OrderHeaderRepository.class);
+    OrderLineRepository lineRepository = mock(OrderLineRepository.class);
+    ProductRepository productRepository = mock(ProductRepository.class);
+    CustomerService customerService = mock(CustomerService.class);
+    StockReservationService stockReservations = mock(StockReservationService.class);
+    OrderHistoryService history = mock(OrderHistoryService.class);
+    OutboxService outbox = mock(OutboxService.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    OrderService service = new OrderService(headerRepository, lineRepository, productRepository, customerService,
+            stockReservations, history, outbox, registry);
+
+    @Test
+    void create_loadsAllProductsInOneQueryAndPricesLines() {
+        when(customerService.findById(1L)).thenReturn(new Customer(1L, "John", "Doe", "john@doe.com"));
+        when(productRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(product(10L, "2.50", 10), product(20L, "1.00", 5)));
+        when(headerRepository.save(any(OrderHeader.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        OrderHeader saved = service.create(order(line(10L, 2), line(20L, 3), line(10L, 1)), "alice");
+
+        assertEquals(new BigDecimal("10.50"), saved.getTotalAmount());
+        verify(stockReservations).reserve(any(), eq(Map.of(10L, 3, 20L, 3)));
+        verify(headerRepository).flush();
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productRepository, never()).findById(any());
+        verify(outbox).append(eq("order"), any(), eq(OrderSalesEvent.PLACED), any(OrderSalesEvent.class));
+        verify(history).record(argThat(events -> events.size() == 1
+                && events.get(0).getToStatus() == OrderStatus.NEW && "alice".equals(events.get(0).getChangedBy())));
+        assertEquals(1.0, registry.get("crm.orders.placed").counter().count());
+    }
+
+    @Test
+    void create_repeatedProductExceedingStock_throwsException() {
+        when(customerService.findById(1L)).thenReturn(new Customer(1L, "John", "Doe", "john@doe.com"));
+        when(productRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(product(10L, "2.50", 3)));
+
+        assertThrows(IllegalStateException.class, () -> service.create(order(line(10L, 2), line(10L, 2)), null));
+        verify(stockReservations, never()).reserve(any(), anyMap());
+        verify(headerRepository, never()).save(any());
+        assertEquals(1.0, registry.get("crm.orders.stock.rejections").tag("reason", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    void create_reservationRejected_doesNotFlushOrder() {
+        when(customerService.findById(1L)).thenReturn(new Customer(1L, "John", "Doe", "john@doe.com"));
+        when(productRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(product(10L, "2.50", 3)));
+        when(headerRepository.save(any(OrderHeader.class))).thenAnswer(inv -> inv.getArgument(0));
+        doThrow(new IllegalStateException("Insufficient stock for products [10]"))
+                .when(stockReservations).reserve(any(), anyMap());
+
+        assertThrows(IllegalStateException.class, () -> service.create(order(line(10L, 2)), null));
+        verify(headerRepository, never()).flush();
+    }
+
+    private static OrderHeader order(OrderLine... lines) {
+        OrderHeader order = new OrderHeader();
+        Customer customer = new Customer();
+        customer.setId(1L);
+        order.setCustomer(customer);
+        order.setLines(new ArrayList<>(List.of(lines)));
+        return order;
+    }
+
+    private static OrderLine line(Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        OrderLine line = new OrderLine();
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private static Product product(Long id, String price, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(stock);
+        return product;
+    }
+}
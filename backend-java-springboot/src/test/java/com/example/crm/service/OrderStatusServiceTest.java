@@ -0,0 +1,112 @@
+package com.example.crm.service;
+
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.OrderStatusRow;
+import com.example.crm.service.OrderTransitionResult.Outcome;
+import com.example.crm.service.outbox.OutboxService;
+import com.example.crm.service.reporting.OrderSalesEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderStatusServiceTest {
+
+    OrderHeaderRepository headerRepository = mock(OrderHeaderRepository.class);
+    StockReservationService stockReservations = mock(StockReservationService.class);
+    OrderHistoryService history = mock(OrderHistoryService.class);
+    OutboxService outbox = mock(OutboxService.class);
+
+    OrderStatusService service = new OrderStatusService(headerRepository, stockReservations, history, outbox);
+
+    @Test
+    void transitionAll_updatesValidOrdersInOneStatementAndReportsTheRest() {
+        Map<Long, Long> requested = new LinkedHashMap<>();
+        requested.put(1L, null);
+        requested.put(2L, 4L);
+        requested.put(3L, null);
+        requested.put(4L, null);
+        when(headerRepository.lockStatuses(requested.keySet())).thenReturn(Map.of(
+                1L, new OrderStatusRow(1L, OrderStatus.PAID, 2L),
+                2L, new OrderStatusRow(2L, OrderStatus.PAID, 5L),
+                3L, new OrderStatusRow(3L, OrderStatus.NEW, 0L)));
+
+        List<OrderTransitionResult> results = service.transitionAll(OrderStatus.SHIPPED, requested, "alice");
+
+        assertEquals(List.of(
+                new OrderTransitionResult(1L, Outcome.UPDATED, OrderStatus.SHIPPED, 3L),
+                new OrderTransitionResult(2L, Outcome.VERSION_CONFLICT, OrderStatus.PAID, 5L),
+                new OrderTransitionResult(3L, Outcome.INVALID_TRANSITION, OrderStatus.NEW, 0L),
+                new OrderTransitionResult(4L, Outcome.NOT_FOUND, null, null)), results);
+        verify(headerRepository).updateStatus(eq(Set.of(1L)), eq(OrderStatus.SHIPPED));
+        verify(outbox).appendAll(eq("order"), eq(OrderStatusChange.TYPE), anyMap());
+        verify(history).record(argThat(events -> events.size() == 1 && events.get(0).getOrderId() == 1L
+                && events.get(0).getFromStatus() == OrderStatus.PAID && "alice".equals(events.get(0).getChangedBy())));
+        verifyNoInteractions(stockReservations);
+    }
+
+    @Test
+    void transitionAll_cancel_releasesStockOfAllCancelledOrders() {
+        when(headerRepository.lockStatuses(any())).thenReturn(Map.of(
+                1L, new OrderStatusRow(1L, OrderStatus.NEW, 0L),
+                2L, new OrderStatusRow(2L, OrderStatus.PAID, 1L)));
+        when(headerRepository.findAllWithLinesByIdIn(any())).thenReturn(List.of(
+                order(1L, OrderStatus.CANCELLED, line(10L, 2)),
+                order(2L, OrderStatus.CANCELLED, line(10L, 1), line(20L, 5))));
+
+        service.transitionAll(OrderStatus.CANCELLED, new LinkedHashMap<>(Map.of(1L, 0L, 2L, 1L)), null);
+
+        verify(stockReservations).release(Map.of(1L, Map.of(10L, 2), 2L, Map.of(10L, 1, 20L, 5)));
+        verify(outbox).appendAll(eq("order"), eq(OrderSalesEvent.REMOVED), anyMap());
+    }
+
+    @Test
+    void transition_staleVersion_throwsException() {
+        OrderHeader order = order(1L, OrderStatus.NEW);
+        when(headerRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> service.transition(1L, OrderStatus.PAID, 7L, null, null));
+        verify(headerRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void transition_shippedOrder_cannotBeCancelled() {
+        when(headerRepository.findWithLinesById(1L)).thenReturn(Optional.of(order(1L, OrderStatus.SHIPPED)));
+
+        assertThrows(IllegalStateException.class, () -> service.transition(1L, OrderStatus.CANCELLED, null, null, null));
+        verifyNoInteractions(stockReservations, history, outbox);
+    }
+
+    private static OrderHeader order(Long id, OrderStatus status, OrderLine... lines) {
+        OrderHeader order = new OrderHeader();
+        order.setId(id);
+        order.setStatus(status);
+        order.setLines(List.of(lines));
+        return order;
+    }
+
+    private static OrderLine line(Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        OrderLine line = new OrderLine();
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.crm.service;
+
+import com.example.crm.config.CacheConfig;
+import com.example.crm.domain.model.ProductCategory;
+import com.example.crm.domain.repository.ProductCategoryRepository;
+import com.example.crm.domain.repository.ProductSubCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, ProductCategoryService.class, ProductCategoryCacheTest.Conversions.class})
+public class ProductCategoryCacheTest {
+
+    @Autowired
+    ProductCategoryService service;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    ProductCategoryRepository repository;
+
+    @MockBean
+    ProductSubCategoryRepository subCategoryRepository;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findAll_readsThroughOnce() {
+        when(repository.findAll()).thenReturn(List.of(category(1L, "Tools")));
+
+        service.findAll();
+        service.findAll();
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void update_evictsCachedCategory() {
+        when(repository.findById(1L)).thenReturn(Optional.of(category(1L, "Tools")));
+        when(repository.save(any(ProductCategory.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.findById(1L);
+        service.update(1L, category(null, "Hardware"));
+        service.findById(1L);
+
+        // one load for the first read, one inside update, one after eviction
+        verify(repository, times(3)).findById(1L);
+    }
+
+    // Boot's converters, so @Value properties such as "1h" bind to Duration as they do in the application
+    @Configuration
+    static class Conversions {
+
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    private static ProductCategory category(Long id, String name) {
+        ProductCategory category = new ProductCategory();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
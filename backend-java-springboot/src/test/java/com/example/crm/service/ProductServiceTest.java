@@ -1,13 +1,21 @@
 package com.example.crm.service;
 
+import com.example.crm.domain.model.InventoryMovement;
+import com.example.crm.domain.model.MovementReason;
 import com.example.crm.domain.model.Product;
 import com.example.crm.domain.repository.OrderLineRepository;
 import com.example.crm.domain.repository.ProductRepository;
 import com.example.crm.exception.DuplicateSkuException;
+import com.example.crm.exception.PreconditionFailedException;
+import com.example.crm.service.inventory.InventoryLedger;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,8 +26,11 @@ public class ProductServiceTest {
     ProductRepository productRepository = mock(ProductRepository.class);
     ProductSubCategoryService subCategoryService = mock(ProductSubCategoryService.class);
     OrderLineRepository orderLineRepository = mock(OrderLineRepository.class);
+    InventoryLedger ledger = mock(InventoryLedger.class);
+    ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
 
-    ProductService service = new ProductService(productRepository, subCategoryService, orderLineRepository);
+    ProductService service = new ProductService(productRepository, subCategoryService, orderLineRepository, ledger,
+            events);
 
     @Test
     void create_duplicateSku_throwsException() {
@@ -33,4 +44,56 @@ public class ProductServiceTest {
 
         assertThrows(DuplicateSkuException.class, () -> service.create(p));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void update_stockChange_locksRowAndRecordsAdjustment() {
+        Product existing = product(7);
+        existing.setId(1L);
+        when(productRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.update(1L, product(4), null);
+
+        ArgumentCaptor<List<InventoryMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(ledger).record(movements.capture());
+        InventoryMovement movement = movements.getValue().get(0);
+        assertEquals(1L, movement.getProductId());
+        assertEquals(-3, movement.getQuantityDelta());
+        assertEquals(MovementReason.ADJUSTMENT, movement.getReason());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void update_unchangedStock_recordsNothing() {
+        Product existing = product(7);
+        existing.setId(1L);
+        when(productRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.update(1L, product(7), null);
+
+        verifyNoInteractions(ledger);
+    }
+
+    @Test
+    void update_ifMatchOtherVersion_failsBeforeWriting() {
+        Product existing = product(7);
+        existing.setId(1L);
+        when(productRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(1L, product(4), 3L));
+
+        verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(ledger);
+    }
+
+    private static Product product(int stock) {
+        Product p = new Product();
+        p.setSku("ABC");
+        p.setName("Test");
+        p.setPrice(new BigDecimal("1.00"));
+        p.setStockQuantity(stock);
+        return p;
+    }
 }
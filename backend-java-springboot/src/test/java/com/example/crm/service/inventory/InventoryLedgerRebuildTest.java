@@ -0,0 +1,106 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The stock rebuild is a MySQL multi-table UPDATE, which H2 does not parse, so this test only runs
+ * against a MySQL scratch schema: {@code mvn test -Dcrm.test.mysql.url=jdbc:mysql://localhost:3306/crm_test}
+ * (plus {@code crm.test.mysql.username} and {@code crm.test.mysql.password} when needed).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${crm.test.mysql.url}",
+        "spring.datasource.username=${crm.test.mysql.username:root}",
+        "spring.datasource.password=${crm.test.mysql.password:}",
+        "crm.inventory.snapshot.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "crm.test.mysql.url", matches = ".+")
+@DirtiesContext
+public class InventoryLedgerRebuildTest {
+
+    @Autowired
+    InventoryLedger ledger;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Product product;
+
+    @BeforeEach
+    void createProduct() {
+        Product p = new Product();
+        p.setSku("REBUILD-" + UUID.randomUUID());
+        p.setName("Rebuild test");
+        p.setPrice(BigDecimal.TEN);
+        p.setStockQuantity(0);
+        product = productRepository.save(p);
+    }
+
+    @AfterEach
+    void deleteProduct() {
+        jdbcTemplate.update("DELETE FROM inventory_snapshots WHERE product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM inventory_movements WHERE product_id = ?", product.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void rebuild_correctsDriftedStockFromMovements() {
+        move(10, Instant.now());
+        move(-3, Instant.now());
+        drift(50);
+
+        assertEquals(1, ledger.rebuild(List.of(product.getId())));
+
+        assertEquals(7, stock());
+        assertEquals(0, ledger.rebuild(List.of(product.getId())));
+    }
+
+    @Test
+    void rebuild_startsFromTheLatestSnapshot() {
+        move(10, Instant.now().minus(Duration.ofHours(3)));
+        move(-3, Instant.now().minus(Duration.ofHours(2)));
+        ledger.snapshot();
+        move(5, Instant.now());
+        drift(99);
+
+        assertEquals(1, ledger.rebuild(List.of(product.getId())));
+
+        assertEquals(12, stock());
+    }
+
+    private void move(int delta, Instant at) {
+        jdbcTemplate.update("INSERT INTO inventory_movements (product_id, quantity_delta, reason, created_at) " +
+                "VALUES (?, ?, 'ADJUSTMENT', ?)", product.getId(), delta, Timestamp.from(at));
+    }
+
+    // Changes the stock behind the ledger's back
+    private void drift(int stock) {
+        jdbcTemplate.update("UPDATE products SET stock_quantity = ? WHERE id = ?", stock, product.getId());
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.model.InventorySnapshot;
+import com.example.crm.domain.repository.InventorySnapshotRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshots and point-in-time stock against the embedded database. The class has its own context, so
+ * the ledger holds exactly the movements written here; the scheduled snapshot job is switched off.
+ */
+@SpringBootTest(properties = {"crm.inventory.snapshot.enabled=false", "crm.inventory.snapshot.settle=1h"})
+@AutoConfigureTestDatabase
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InventoryLedgerTest {
+
+    private static final long PRODUCT = 9001L;
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    InventoryLedger ledger;
+
+    @Autowired
+    InventorySnapshotRepository snapshotRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long restocked;
+    long sold;
+    long returned;
+
+    @BeforeAll
+    void snapshotSettledMovements() {
+        restocked = move(10, NOW.minus(Duration.ofHours(3)));
+        sold = move(-3, NOW.minus(Duration.ofHours(2)));
+        // Inside the one-hour settle window, so left out of the snapshot
+        returned = move(5, NOW.minus(Duration.ofMinutes(10)));
+
+        assertEquals(1, ledger.snapshot());
+    }
+
+    @Test
+    void snapshot_coversOnlyMovementsOlderThanTheSettleWindow() {
+        List<InventorySnapshot> snapshots = snapshotRepository.findAll();
+
+        assertEquals(1, snapshots.size());
+        assertEquals(PRODUCT, snapshots.get(0).getProductId());
+        assertEquals(7, snapshots.get(0).getStock());
+        assertEquals(sold, snapshots.get(0).getLastMovementId());
+        assertEquals(0, ledger.snapshot());
+    }
+
+    @Test
+    void stockAt_beforeTheSnapshot_replaysMovementsFromTheStart() {
+        InventoryLedger.StockAt stock = ledger.stockAt(PRODUCT, NOW.minus(Duration.ofMinutes(150)));
+
+        assertEquals(10, stock.stock());
+        assertNull(stock.snapshotAsOf());
+    }
+
+    @Test
+    void stockAt_afterTheSnapshot_addsLaterMovementsUpToThatTime() {
+        InventoryLedger.StockAt settled = ledger.stockAt(PRODUCT, NOW.minus(Duration.ofMinutes(30)));
+        InventoryLedger.StockAt current = ledger.stockAt(PRODUCT, NOW);
+
+        assertEquals(7, settled.stock());
+        assertNotNull(settled.snapshotAsOf());
+        assertEquals(12, current.stock());
+    }
+
+    // created_at is set explicitly; movements recorded through the ledger are always stamped "now"
+    private long move(int delta, Instant at) {
+        jdbcTemplate.update("INSERT INTO inventory_movements (product_id, quantity_delta, reason, created_at) " +
+                "VALUES (?, ?, 'ADJUSTMENT', ?)", PRODUCT, delta, Timestamp.from(at));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM inventory_movements", Long.class);
+    }
+}
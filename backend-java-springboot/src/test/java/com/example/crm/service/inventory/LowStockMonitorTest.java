@@ -0,0 +1,71 @@
+package com.example.crm.service.inventory;
+
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.domain.repository.StockLevel;
+import com.example.crm.service.search.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class LowStockMonitorTest {
+
+    ProductRepository repository = mock(ProductRepository.class);
+    ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+    LowStockMonitor monitor = new LowStockMonitor(repository, events, new SimpleMeterRegistry(), 10);
+
+    @Test
+    void stockChange_crossingThresholdBothWays_publishesLowThenRestocked() {
+        when(repository.findStockLevels(anyCollection(), anyInt()))
+                .thenReturn(List.of(level(1L, 3, 5)))
+                .thenReturn(List.of(level(1L, 20, 5)));
+
+        monitor.onStockChanged(StockChangedEvent.of(Set.of(1L)));
+        assertEquals(1, monitor.lowStock().size());
+        monitor.onStockChanged(StockChangedEvent.of(Set.of(1L)));
+
+        ArgumentCaptor<LowStockAlert> alerts = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(events, times(2)).publishEvent(alerts.capture());
+        assertEquals(LowStockAlert.Type.LOW, alerts.getAllValues().get(0).type());
+        assertEquals(LowStockAlert.Type.RESTOCKED, alerts.getAllValues().get(1).type());
+        assertTrue(monitor.lowStock().isEmpty());
+    }
+
+    @Test
+    void stockChange_aboveThreshold_publishesNothing() {
+        when(repository.findStockLevels(anyCollection(), anyInt())).thenReturn(List.of(level(1L, 50, 10)));
+
+        monitor.onStockChanged(StockChangedEvent.of(Set.of(1L)));
+
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void productDeleted_whileLow_publishesRestocked() {
+        when(repository.findLowStockProducts(10)).thenReturn(List.of(level(1L, 0, 10)));
+        when(repository.findStockLevels(anyCollection(), anyInt())).thenReturn(List.of());
+        monitor.reload();
+        reset(events);
+
+        monitor.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        ArgumentCaptor<LowStockAlert> alert = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(events).publishEvent(alert.capture());
+        assertEquals(LowStockAlert.Type.RESTOCKED, alert.getValue().type());
+        assertNull(alert.getValue().stock());
+    }
+
+    private static StockLevel level(Long id, int stock, int threshold) {
+        return new StockLevel(id, "SKU-" + id, "Product " + id, stock, threshold, true);
+    }
+}
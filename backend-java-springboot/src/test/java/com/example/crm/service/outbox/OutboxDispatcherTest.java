@@ -0,0 +1,94 @@
+package com.example.crm.service.outbox;
+
+import com.example.crm.domain.model.OutboxEvent;
+import com.example.crm.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class OutboxDispatcherTest {
+
+    OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    RecordingSink sink = new RecordingSink();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OutboxDispatcher dispatcher = new OutboxDispatcher(repository, List.of(sink, new LoggingOutboxSink()),
+            mock(PlatformTransactionManager.class), registry, List.of("in-process"), 100, 3, Duration.ofDays(7));
+
+    @Test
+    void dispatchBatch_deliversInOrderAndMarksPublished() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(repository.claimPending(3, 100)).thenReturn(List.of(first, second));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        assertEquals(List.of("OrderPlaced:1", "OrderPlaced:2"), sink.delivered);
+        assertTrue(sink.flushed);
+        assertNotNull(first.getPublishedAt());
+        assertNotNull(second.getPublishedAt());
+        assertEquals(2, registry.get("outbox.delivery.lag").timer().count());
+    }
+
+    @Test
+    void dispatchBatch_sinkFailure_leavesBatchPendingAndRecordsAttempt() {
+        OutboxEvent first = event(1L);
+        OutboxEvent failing = event(2L);
+        when(repository.claimPending(anyInt(), anyInt())).thenReturn(List.of(first, failing));
+        when(repository.findById(2L)).thenReturn(Optional.of(failing));
+        sink.failOn = 2L;
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        assertNull(first.getPublishedAt());
+        assertNull(failing.getPublishedAt());
+        assertEquals(1, failing.getAttempts());
+        assertEquals(0, first.getAttempts());
+        assertEquals(1.0, registry.get("outbox.failures").tag("sink", "in-process").counter().count());
+    }
+
+    @Test
+    void constructor_unknownSink_throwsException() {
+        assertThrows(IllegalStateException.class, () -> new OutboxDispatcher(repository, List.of(sink),
+                mock(PlatformTransactionManager.class), registry, List.of("kafka"), 100, 3, Duration.ofDays(7)));
+    }
+
+    private static OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent("order", id, "OrderPlaced", "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    static class RecordingSink implements OutboxSink {
+        final List<String> delivered = new ArrayList<>();
+        Long failOn;
+        boolean flushed;
+
+        @Override
+        public String name() {
+            return "in-process";
+        }
+
+        @Override
+        public void deliver(OutboxMessage message) {
+            if (message.aggregateId().equals(failOn)) {
+                throw new IllegalStateException("listener failed");
+            }
+            delivered.add(message.eventType() + ":" + message.aggregateId());
+        }
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+    }
+}
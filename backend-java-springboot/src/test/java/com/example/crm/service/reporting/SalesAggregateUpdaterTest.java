@@ -0,0 +1,55 @@
+package com.example.crm.service.reporting;
+
+import com.example.crm.domain.model.SalesDimension;
+import com.example.crm.domain.repository.SalesAggregateRepository;
+import com.example.crm.domain.repository.SalesDelta;
+import com.example.crm.service.outbox.OutboxService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class SalesAggregateUpdaterTest {
+
+    SalesAggregateRepository repository = mock(SalesAggregateRepository.class);
+    SalesAggregateUpdater updater = new SalesAggregateUpdater(repository, mock(OutboxService.class));
+
+    LocalDate day = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void deltas_countOrderOncePerProductAndCategory() {
+        when(repository.findCategoryIds(anyCollection())).thenReturn(Map.of(10L, 1L, 20L, 1L));
+        OrderSalesEvent event = new OrderSalesEvent(5L, day, 7L, new BigDecimal("12.00"), List.of(
+                new OrderSalesEvent.Line(10L, 2, new BigDecimal("5.00")),
+                new OrderSalesEvent.Line(20L, 1, new BigDecimal("2.00")),
+                new OrderSalesEvent.Line(10L, 1, new BigDecimal("5.00"))), 1);
+
+        List<SalesDelta> deltas = updater.deltas(event);
+
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.TOTAL, 0, day, new BigDecimal("12.00"), 1, 4)));
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.CUSTOMER, 7, day, new BigDecimal("12.00"), 1, 4)));
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.PRODUCT, 10, day, new BigDecimal("10.00"), 1, 3)));
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.PRODUCT, 20, day, new BigDecimal("2.00"), 1, 1)));
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.CATEGORY, 1, day, new BigDecimal("12.00"), 1, 4)));
+        assertEquals(5, deltas.size());
+    }
+
+    @Test
+    void deltas_removedOrderSubtracts() {
+        when(repository.findCategoryIds(anyCollection())).thenReturn(Map.of());
+        OrderSalesEvent event = new OrderSalesEvent(5L, day, 7L, new BigDecimal("5.00"),
+                List.of(new OrderSalesEvent.Line(10L, 1, new BigDecimal("5.00"))), -1);
+
+        List<SalesDelta> deltas = updater.deltas(event);
+
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.TOTAL, 0, day, new BigDecimal("-5.00"), -1, -1)));
+        assertTrue(deltas.contains(new SalesDelta(SalesDimension.PRODUCT, 10, day, new BigDecimal("-5.00"), -1, -1)));
+        assertEquals(3, deltas.size());
+    }
+}
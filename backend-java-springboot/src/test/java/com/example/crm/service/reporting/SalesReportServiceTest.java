@@ -0,0 +1,149 @@
+package com.example.crm.service.reporting;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.model.SalesDailyAggregate;
+import com.example.crm.domain.model.SalesDimension;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import com.example.crm.service.outbox.OutboxDispatcher;
+import com.example.crm.service.outbox.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Backfills against an embedded database in MySQL mode, which accepts the aggregate upsert. The
+ * dispatcher only polls at startup here; the tests deliver the outbox themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sales-report;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "crm.outbox.poll-interval-ms=3600000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext
+public class SalesReportServiceTest {
+
+    @Autowired
+    SalesReportService service;
+
+    @Autowired
+    OutboxDispatcher dispatcher;
+
+    @Autowired
+    OutboxService outbox;
+
+    @Autowired
+    OrderHeaderRepository headerRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void rebuild_withAPendingOrderPlaced_countsTheOrderOnceItIsDelivered() {
+        LocalDate day = LocalDate.of(2003, 5, 10);
+        place(day, new BigDecimal("30.00"));
+        dispatcher.poll();
+        // Still in the outbox while the range is rebuilt
+        place(day, new BigDecimal("12.50"));
+
+        service.rebuild(day, day);
+
+        assertTotal(day, 1, new BigDecimal("30.00"));
+
+        dispatcher.poll();
+
+        assertTotal(day, 2, new BigDecimal("42.50"));
+        service.rebuild(day, day);
+        assertTotal(day, 2, new BigDecimal("42.50"));
+    }
+
+    @Test
+    void rebuild_withAPendingOrderRemoved_subtractsTheOrderOnceItIsDelivered() {
+        LocalDate day = LocalDate.of(2003, 6, 20);
+        place(day, new BigDecimal("8.00"));
+        OrderHeader cancelled = place(day, new BigDecimal("5.00"));
+        dispatcher.poll();
+        cancel(cancelled.getId());
+
+        service.rebuild(day, day);
+
+        assertTotal(day, 2, new BigDecimal("13.00"));
+
+        dispatcher.poll();
+
+        assertTotal(day, 1, new BigDecimal("8.00"));
+    }
+
+    private OrderHeader place(LocalDate day, BigDecimal amount) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Customer customer = customerRepository.save(
+                    new Customer(null, "Sales", "Rebuild", UUID.randomUUID() + "@sales.test"));
+            Product product = new Product();
+            product.setSku("SALES-" + UUID.randomUUID());
+            product.setName("Rebuild test");
+            product.setPrice(amount);
+            product.setStockQuantity(10);
+            product = productRepository.save(product);
+
+            OrderHeader order = new OrderHeader();
+            order.setCustomer(customer);
+            order.setOrderDate(day);
+            order.setStatus(OrderStatus.NEW);
+            order.setTotalAmount(amount);
+            OrderLine line = new OrderLine();
+            line.setOrderHeader(order);
+            line.setProduct(product);
+            line.setQuantity(1);
+            line.setUnitPrice(amount);
+            line.setLineTotal(amount);
+            order.setLines(List.of(line));
+            OrderHeader saved = headerRepository.save(order);
+            record(OrderSalesEvent.placed(saved));
+            return saved;
+        });
+    }
+
+    private void cancel(Long orderId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            OrderHeader order = headerRepository.findWithLinesById(orderId).orElseThrow();
+            record(OrderSalesEvent.removed(order));
+            order.setStatus(OrderStatus.CANCELLED);
+        });
+    }
+
+    // What OrderService writes in the order transaction
+    private void record(OrderSalesEvent event) {
+        outbox.append(OrderSalesEvent.AGGREGATE, event.orderId(), event.eventType(), event);
+    }
+
+    private void assertTotal(LocalDate day, long orders, BigDecimal revenue) {
+        List<SalesDailyAggregate> days = service.daily(SalesDimension.TOTAL, 0, day, day);
+        assertEquals(1, days.size());
+        assertEquals(orders, days.get(0).getOrderCount());
+        assertEquals(0, revenue.compareTo(days.get(0).getRevenue()));
+    }
+}
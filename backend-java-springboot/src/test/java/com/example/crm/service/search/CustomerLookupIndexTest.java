@@ -0,0 +1,77 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CustomerLookupIndexTest {
+
+    CustomerRepository repository = mock(CustomerRepository.class);
+    CustomerLookupIndex index = new CustomerLookupIndex(repository);
+
+    @Test
+    void search_matchesSubstringsOfNamesAndEmail() {
+        index.put(new Customer(1L, "John", "Doe", "john@doe.com"));
+        index.put(new Customer(2L, "Jane", "Smith", "jane@acme.org"));
+        index.put(new Customer(3L, "Adam", "Johnson", "adam@doe.com"));
+
+        assertEquals(List.of(1L, 3L), index.search("ohn", false, Sort.by("id")));
+        assertEquals(List.of(1L, 3L), index.search("DOE.C", false, Sort.by("id")));
+        assertEquals(List.of(1L), index.search("john d", true, Sort.by("id")));
+        assertEquals(List.of(), index.search("acme", true, Sort.by("id")));
+        assertEquals(List.of(3L, 1L), index.search("ohn", false, Sort.by(Sort.Direction.DESC, "lastName")));
+    }
+
+    @Test
+    void putAndRemove_keepIndexIncrementallyUpToDate() {
+        index.put(new Customer(1L, "John", "Doe", "john@doe.com"));
+        index.put(new Customer(1L, "Johnny", "Walker", "johnny@walker.com"));
+
+        assertEquals(List.of(), index.search("doe", false, Sort.by("id")));
+        assertEquals(List.of(1L), index.search("walk", false, Sort.by("id")));
+
+        index.remove(1L);
+
+        assertEquals(List.of(), index.search("walk", false, Sort.by("id")));
+    }
+
+    @Test
+    void search_handlesSnowflakeSizedIds() {
+        long snowflake = 7_245_812_345_678_901_248L;
+        index.put(new Customer(snowflake, "John", "Doe", "john@doe.com"));
+        index.put(new Customer(snowflake + 1, "Jane", "Doe", "jane@doe.com"));
+
+        assertEquals(List.of(snowflake, snowflake + 1), index.search("doe", false, Sort.by("id")));
+        assertEquals(List.of(snowflake), index.search("john", false, Sort.by("id")));
+
+        index.remove(snowflake);
+
+        assertEquals(List.of(snowflake + 1), index.search("doe", false, Sort.by("id")));
+    }
+
+    @Test
+    void rebuild_replaysChangesMadeWhileItWasReading() {
+        // The rebuild reads the old rows; meanwhile customer 1 is renamed and customer 2 deleted
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.put(new Customer(1L, "Johnny", "Walker", "johnny@walker.com"));
+            index.remove(2L);
+            return new SliceImpl<>(List.of(new Customer(1L, "John", "Doe", "john@doe.com"),
+                    new Customer(2L, "Jane", "Doe", "jane@doe.com")));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(), index.search("doe", false, Sort.by("id")));
+        assertEquals(List.of(1L), index.search("walk", false, Sort.by("id")));
+    }
+}
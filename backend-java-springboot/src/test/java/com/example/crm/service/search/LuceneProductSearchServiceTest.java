@@ -0,0 +1,157 @@
+package com.example.crm.service.search;
+
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LuceneProductSearchServiceTest {
+
+    ProductRepository repository = mock(ProductRepository.class);
+    // What findAllById hands back, standing in for the products table
+    Map<Long, Product> rows = new HashMap<>();
+    LuceneProductSearchService search;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Product> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (rows.containsKey(id)) {
+                    found.add(rows.get(id));
+                }
+            });
+            return found;
+        });
+        search = new LuceneProductSearchService(repository, "");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        search.close();
+    }
+
+    @Test
+    void search_matchesPartialWordsInNameAndSku() {
+        save(product(1L, "KB-1001", "Mechanical Keyboard", "Clicky switches"));
+        save(product(2L, "MS-2002", "Wireless Mouse", "Ergonomic"));
+
+        assertEquals(List.of(1L), ids(search.search("keyb", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(search.search("ms-20", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(search.search("click", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(search.search("monitor", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(search.search("  ", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_requiresEveryTokenToMatch() {
+        save(product(1L, "KB-1001", "Mechanical Keyboard", null));
+        save(product(2L, "KB-1002", "Membrane Keyboard", null));
+
+        assertEquals(List.of(2L), ids(search.search("keyboard memb", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_ranksSkuAboveNameAboveDescription() {
+        save(product(1L, "X-1", "Cable", "Works with any desk lamp"));
+        save(product(2L, "X-2", "Desk Lamp", null));
+        save(product(3L, "DESK-3", "Chair", null));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(search.search("desk", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_pagesThroughRankedResults() {
+        for (long id = 1; id <= 5; id++) {
+            save(product(id, "P-" + id, "Widget " + id, null));
+        }
+
+        Page<Product> first = search.search("widget", PageRequest.of(0, 2));
+        Page<Product> last = search.search("widget", PageRequest.of(2, 2));
+
+        assertEquals(5, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+        assertEquals(2, first.getContent().size());
+        assertEquals(1, last.getContent().size());
+        List<Long> all = new ArrayList<>(ids(first));
+        all.addAll(ids(search.search("widget", PageRequest.of(1, 2))));
+        all.addAll(ids(last));
+        assertEquals(5, all.stream().distinct().count());
+    }
+
+    @Test
+    void onProductChanged_updatesAndDeletesDocuments() {
+        save(product(1L, "KB-1001", "Mechanical Keyboard", null));
+        save(product(1L, "KB-1001", "Gaming Mouse", null));
+
+        assertEquals(List.of(), ids(search.search("keyboard", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(search.search("gaming", PageRequest.of(0, 10))));
+
+        search.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertEquals(List.of(), ids(search.search("gaming", PageRequest.of(0, 10))));
+        assertEquals(0, search.search("gaming", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void rebuild_keepsServingTheOldIndexAndReplaysChangesMadeWhileItWasReading() throws Exception {
+        save(product(1L, "KB-1001", "Mechanical Keyboard", null));
+        save(product(2L, "MS-2002", "Wireless Mouse", null));
+        save(product(3L, "HB-3003", "USB Hub", null));
+
+        // The rebuild reads the old rows; meanwhile product 1 is renamed and product 2 deleted
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            List<Product> read = List.of(product(1L, "KB-1001", "Mechanical Keyboard", null),
+                    product(2L, "MS-2002", "Wireless Mouse", null), product(3L, "HB-3003", "USB Hub", null));
+            save(product(1L, "KB-1001", "Gaming Keyboard", null));
+            rows.remove(2L);
+            search.onProductChanged(ProductChangedEvent.deleted(2L));
+            // Searches mid-rebuild still see the live index, changes included, never an empty one
+            assertEquals(List.of(3L), ids(search.search("hub", PageRequest.of(0, 10))));
+            assertEquals(List.of(1L), ids(search.search("gaming", PageRequest.of(0, 10))));
+            return new SliceImpl<>(read);
+        });
+
+        search.rebuild();
+
+        assertEquals(List.of(1L), ids(search.search("gaming", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(search.search("mechanical", PageRequest.of(0, 10))));
+        assertEquals(1, search.search("keyboard", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, search.search("mouse", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of(3L), ids(search.search("hub", PageRequest.of(0, 10))));
+    }
+
+    private void save(Product product) {
+        rows.put(product.getId(), product);
+        search.onProductChanged(ProductChangedEvent.saved(product));
+    }
+
+    private static Product product(Long id, String sku, String name, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setSku(sku);
+        product.setName(name);
+        product.setDescription(description);
+        return product;
+    }
+
+    private static List<Long> ids(Page<Product> page) {
+        return page.getContent().stream().map(Product::getId).toList();
+    }
+}
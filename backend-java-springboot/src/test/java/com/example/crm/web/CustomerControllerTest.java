@@ -1,10 +1,16 @@
 package com.example.crm.web;
 
 import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.repository.KeysetCursor;
+import com.example.crm.domain.repository.KeysetSlice;
 import com.example.crm.service.CustomerService;
 import com.example.crm.web.dto.CustomerDto;
 import com.example.crm.web.dto.CustomerMapper;
+import com.example.crm.exception.PreconditionFailedException;
 import com.example.crm.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +18,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,8 +54,35 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("content").isArray());
     }
 
+    @Test
+    void scroll_returnsOpaqueNextCursor() throws Exception {
+        KeysetCursor next = new KeysetCursor("id", Sort.Direction.ASC, "1", "1");
+        Mockito.when(service.scroll(any(KeysetCursor.class), anyInt()))
+                .thenReturn(new KeysetSlice<>(List.of(new Customer()), next));
+        Mockito.when(mapper.toDto(any(Customer.class)))
+                .thenReturn(new CustomerDto(1L, "John", "Doe", "john@doe.com", 1L));
+
+        mockMvc.perform(get("/api/v1/customers/scroll?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("hasNext").value(true))
+                .andExpect(jsonPath("nextCursor").value(next.encode()));
+    }
+
+    @Test
+    void lookup_returnsMatchingCustomers() throws Exception {
+        Customer customer = new Customer();
+        Mockito.when(service.lookup(eq("doe"), anyInt())).thenReturn(List.of(customer));
+        Mockito.when(mapper.toDto(any(Customer.class)))
+                .thenReturn(new CustomerDto(1L, "John", "Doe", "john@doe.com", 1L));
+
+        mockMvc.perform(get("/api/v1/customers/lookup?q=doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName").value("Doe"));
+    }
+
     @Test
     void create_unknownAddress_returnsNotFound() throws Exception {
+        Mockito.when(mapper.toEntity(any(CustomerDto.class))).thenReturn(new Customer());
         Mockito.when(service.create(any(Customer.class)))
                 .thenThrow(new ResourceNotFoundException("Address not found"));
         String json = "{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"a@b.com\",\"addressId\":99}";
@@ -65,4 +100,69 @@ public class CustomerControllerTest {
                         .content(json))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void get_matchingIfNoneMatch_returnsNotModifiedWithoutMapping() throws Exception {
+        Mockito.when(service.findById(1L)).thenReturn(new Customer(1L, "John", "Doe", "john@doe.com"));
+        Mockito.when(mapper.toDto(any(Customer.class)))
+                .thenReturn(new CustomerDto(1L, "John", "Doe", "john@doe.com", null));
+
+        String etag = mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/customers/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(mapper, Mockito.times(1)).toDto(any(Customer.class));
+    }
+
+    @Test
+    void update_ifMatch_passesVersionToServiceAndStaleVersionFails() throws Exception {
+        Mockito.when(mapper.toEntity(any(CustomerDto.class))).thenReturn(new Customer());
+        Mockito.when(service.update(eq(1L), any(Customer.class), eq(41L)))
+                .thenThrow(new PreconditionFailedException("The resource has been modified since it was read"));
+        String json = "{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"a@b.com\"}";
+
+        mockMvc.perform(put("/api/v1/customers/1")
+                        .header("If-Match", "W/\"1-v41\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void update_ifMatchForOtherResource_failsWithoutCallingService() throws Exception {
+        String json = "{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"a@b.com\"}";
+
+        mockMvc.perform(put("/api/v1/customers/1")
+                        .header("If-Match", "W/\"2-v3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isPreconditionFailed());
+        Mockito.verify(service, Mockito.never()).update(anyLong(), any(Customer.class), any());
+    }
+
+    @Test
+    void delete_ifMatchStar_isUnconditional() throws Exception {
+        mockMvc.perform(delete("/api/v1/customers/1").header("If-Match", "*"))
+                .andExpect(status().isNoContent());
+        Mockito.verify(service).delete(1L, null);
+    }
+
+    @Test
+    void list_acceptCbor_returnsBinaryPage() throws Exception {
+        Mockito.when(service.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new Customer(1L, "John", "Doe", "john@doe.com"))));
+        Mockito.when(mapper.toDto(any(Customer.class)))
+                .thenReturn(new CustomerDto(1L, "John", "Doe", "john@doe.com", null));
+
+        byte[] body = mockMvc.perform(get("/api/v1/customers").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("Doe", page.get("content").get(0).get("lastName").asText());
+    }
 }
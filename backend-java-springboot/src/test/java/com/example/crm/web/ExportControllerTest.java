@@ -0,0 +1,97 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderStatus;
+import com.example.crm.domain.repository.OrderExportRow;
+import com.example.crm.service.ExportService;
+import com.example.crm.web.dto.CustomerDto;
+import com.example.crm.web.dto.CustomerMapper;
+import com.example.crm.web.dto.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+public class ExportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    ExportService service;
+
+    @MockBean
+    CustomerMapper customerMapper;
+
+    @MockBean
+    ProductMapper productMapper;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void customers_csv_writesHeaderAndEscapedRows() throws Exception {
+        Customer customer = new Customer(1L, "John", "Doe, Jr.", "john@doe.com");
+        when(customerMapper.toDto(customer)).thenReturn(new CustomerDto(1L, "John", "Doe, Jr.", "john@doe.com", null));
+        doAnswer(inv -> {
+            ((Consumer<Customer>) inv.getArgument(4)).accept(customer);
+            return null;
+        }).when(service).customers(any(), any(), any(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/exports/customers").param("city", "Berlin"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", startsWith("attachment")))
+                .andExpect(content().string("id,firstName,lastName,email,addressId\r\n"
+                        + "1,John,\"Doe, Jr.\",john@doe.com,\r\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void orders_ndjson_groupsLinesPerOrder() throws Exception {
+        LocalDate date = LocalDate.of(2024, 1, 2);
+        doAnswer(inv -> {
+            Consumer<OrderExportRow> sink = inv.getArgument(4);
+            sink.accept(new OrderExportRow(1L, date, OrderStatus.NEW, 7L, BigDecimal.TEN, 0L, 10L, 100L, 1, BigDecimal.ONE, BigDecimal.ONE));
+            sink.accept(new OrderExportRow(1L, date, OrderStatus.NEW, 7L, BigDecimal.TEN, 0L, 11L, 101L, 9, BigDecimal.ONE, new BigDecimal("9")));
+            sink.accept(new OrderExportRow(2L, date, OrderStatus.PAID, 8L, BigDecimal.ZERO, 1L, null, null, null, null, null));
+            return null;
+        }).when(service).orders(any(), any(), any(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/exports/orders").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"productId\":101"));
+        assertTrue(lines[1].contains("\"lines\":[]"));
+    }
+
+    @Test
+    void unknownFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/exports/products").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
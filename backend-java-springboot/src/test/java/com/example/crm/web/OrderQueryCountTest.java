@@ -0,0 +1,136 @@
+package com.example.crm.web;
+
+import com.example.crm.domain.model.Address;
+import com.example.crm.domain.model.Customer;
+import com.example.crm.domain.model.OrderHeader;
+import com.example.crm.domain.model.OrderLine;
+import com.example.crm.domain.model.Product;
+import com.example.crm.domain.repository.AddressRepository;
+import com.example.crm.domain.repository.CustomerRepository;
+import com.example.crm.domain.repository.OrderHeaderRepository;
+import com.example.crm.domain.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class OrderQueryCountTest {
+
+    private static final int ORDERS = 10;
+    private static final int LINES_PER_ORDER = 20;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    OrderHeaderRepository headerRepository;
+
+    Long firstOrderId;
+
+    @BeforeEach
+    void seed() {
+        if (headerRepository.count() == 0) {
+            Customer customer = customerRepository.save(new Customer(null, "John", "Doe", "john@doe.com"));
+            for (int c = 0; c < ORDERS; c++) {
+                Customer other = new Customer(null, "Jane" + c, "Roe", "jane" + c + "@roe.com");
+                other.setAddress(addressRepository.save(new Address(null, c + " Main St", "Springfield", "IL", "62701")));
+                customerRepository.save(other);
+            }
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < LINES_PER_ORDER; i++) {
+                Product product = new Product();
+                product.setSku("SKU-" + i);
+                product.setName("Product " + i);
+                product.setPrice(BigDecimal.TEN);
+                product.setStockQuantity(100);
+                products.add(product);
+            }
+            products = productRepository.saveAll(products);
+
+            List<OrderHeader> orders = new ArrayList<>();
+            for (int o = 0; o < ORDERS; o++) {
+                OrderHeader order = new OrderHeader();
+                order.setCustomer(customer);
+                order.setOrderDate(LocalDate.now());
+                order.setTotalAmount(BigDecimal.TEN.multiply(BigDecimal.valueOf(LINES_PER_ORDER)));
+                List<OrderLine> lines = new ArrayList<>();
+                for (Product product : products) {
+                    OrderLine line = new OrderLine();
+                    line.setOrderHeader(order);
+                    line.setProduct(product);
+                    line.setQuantity(1);
+                    line.setUnitPrice(BigDecimal.TEN);
+                    line.setLineTotal(BigDecimal.TEN);
+                    lines.add(line);
+                }
+                order.setLines(lines);
+                orders.add(order);
+            }
+            headerRepository.saveAll(orders);
+        }
+        firstOrderId = headerRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void list_usesPageCountAndOneLineFetch() throws Exception {
+        mockMvc.perform(get("/api/v1/orders").param("size", String.valueOf(ORDERS)))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3))
+                .andExpect(QueryBudget.noRepeats());
+    }
+
+    @Test
+    void scroll_usesSliceAndOneLineFetch() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/scroll").param("size", String.valueOf(ORDERS)))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2))
+                .andExpect(QueryBudget.noRepeats());
+    }
+
+    @Test
+    void get_loadsHeaderAndLinesTogether() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/{id}", firstOrderId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1));
+    }
+
+    @Test
+    void search_loadsSummariesInOneQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/search").param("customerName", "john").param("sort", "orderDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(ORDERS))
+                .andExpect(jsonPath("$.content[0].customerName").value("John Doe"))
+                .andExpect(jsonPath("$.content[0].lines").doesNotExist())
+                .andExpect(QueryBudget.exactly(1));
+    }
+
+    @Test
+    void customers_doNotLoadAddressesPerRow() throws Exception {
+        mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.noRepeats());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.crm.web;
 
 import com.example.crm.domain.model.Product;
 import com.example.crm.service.ProductService;
+import com.example.crm.service.search.ProductSearchService;
 import com.example.crm.web.dto.ProductDto;
 import com.example.crm.web.dto.ProductMapper;
 import org.junit.jupiter.api.Test;
@@ -33,15 +34,31 @@ public class ProductControllerTest {
     @MockBean
     ProductMapper mapper;
 
+    @MockBean
+    ProductSearchService searchService;
+
     @Test
     void list_filterBySubCategory_returnsOk() throws Exception {
         Product product = new Product();
         Mockito.when(service.findBySubCategoryId(anyLong())).thenReturn(List.of(product));
         Mockito.when(mapper.toDto(any(Product.class)))
-                .thenReturn(new ProductDto(1L,1L,"SKU","Name",null,new BigDecimal("1.00"),1,true));
+                .thenReturn(new ProductDto(1L,1L,"SKU","Name",null,new BigDecimal("1.00"),1,true,null));
 
         mockMvc.perform(get("/api/v1/products?subCategoryId=1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("content").isArray());
     }
+
+    @Test
+    void search_returnsRankedPage() throws Exception {
+        Product product = new Product();
+        Mockito.when(searchService.search(eq("widget"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(product)));
+        Mockito.when(mapper.toDto(any(Product.class)))
+                .thenReturn(new ProductDto(1L,1L,"SKU","Widget",null,new BigDecimal("1.00"),1,true,null));
+
+        mockMvc.perform(get("/api/v1/products/search?q=widget"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content[0].name").value("Widget"));
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.crm.web;
+
+import com.example.crm.monitoring.QueryStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers over the statements {@code RequestMetricsFilter} counted for the request, e.g.
+ * {@code .andExpect(QueryBudget.atMost(3)).andExpect(QueryBudget.noRepeats())}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            QueryStats stats = stats(result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE));
+            assertThat(stats.total()).as("statements executed, %s", stats).isLessThanOrEqualTo(statements);
+        };
+    }
+
+    public static ResultMatcher exactly(int statements) {
+        return result -> {
+            QueryStats stats = stats(result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE));
+            assertThat(stats.total()).as("statements executed, %s", stats).isEqualTo(statements);
+        };
+    }
+
+    /** Fails when any statement ran more than once, which is how an N+1 load shows up. */
+    public static ResultMatcher noRepeats() {
+        return result -> {
+            QueryStats stats = stats(result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE));
+            assertThat(stats.repeated(2)).as("repeated statements").isEmpty();
+        };
+    }
+
+    private static QueryStats stats(Object attribute) {
+        assertThat(attribute).as("query stats, is RequestMetricsFilter registered?").isInstanceOf(QueryStats.class);
+        return (QueryStats) attribute;
+    }
+}